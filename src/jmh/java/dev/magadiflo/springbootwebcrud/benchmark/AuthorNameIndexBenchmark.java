@@ -0,0 +1,114 @@
+package dev.magadiflo.springbootwebcrud.benchmark;
+
+import dev.magadiflo.springbootwebcrud.SpringBootWebCrudApplication;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorRequestParam;
+import dev.magadiflo.springbootwebcrud.model.dto.SliceDTO;
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.service.IAuthorService;
+import dev.magadiflo.springbootwebcrud.service.search.AuthorNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Búsqueda de autores por nombre (LIKE '%q%') con el índice de trigramas activado y desactivado
+ * (app.search.trigramIndex.enabled). Como AuthorPaginationBenchmark, levanta la aplicación sin servidor web con
+ * el perfil local (H2 en memoria) y ejecuta las consultas del servicio.
+ * <p>
+ * Con q = xabc coincide un autor; con q = Elena12, 611 (el índice devuelve 613 candidatos, menos que maxCandidates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AuthorNameIndexBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100000"})
+    private int authors;
+
+    @Param({"xabc", "Elena12"})
+    private String q;
+
+    @Param({"true", "false"})
+    private boolean trigramIndex;
+
+    private ConfigurableApplicationContext context;
+    private IAuthorService authorService;
+    private AuthorRequestParam authorRequestParam;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        this.context = SpringApplication.run(SpringBootWebCrudApplication.class,
+                "--spring.profiles.active=local",
+                "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN",
+                "--app.search.trigramIndex.enabled=" + this.trigramIndex);
+        this.authorService = this.context.getBean(IAuthorService.class);
+
+        List<Object[]> rows = IntStream.range(0, this.authors)
+                .mapToObj(i -> new Object[]{BenchmarkFixtures.firstName(i), BenchmarkFixtures.lastName(i),
+                        Date.valueOf(LocalDate.of(1900, 1, 1).plusDays(i % 36500))})
+                .toList();
+        this.context.getBean(JdbcTemplate.class)
+                .batchUpdate("INSERT INTO authors(first_name, last_name, birthdate) VALUES(?, ?, ?)", rows);
+
+        // Los autores se registraron sin pasar por el servicio: el índice los carga al ver que la BD va por delante
+        AuthorNameIndex authorNameIndex = this.context.getBean(AuthorNameIndex.class);
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (this.trigramIndex && authorNameIndex.findCandidateIds(this.q).isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("El índice de nombres no respondió para q = " + this.q);
+            }
+            Thread.sleep(100);
+        }
+
+        this.authorRequestParam = new AuthorRequestParam(this.q, null);
+        this.pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        if (this.page().getTotalElements() == 0) {
+            throw new IllegalStateException("Ningún autor coincide con q = " + this.q);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Page<IAuthorProjection> page() {
+        return this.authorService.findAllToPage(this.authorRequestParam, this.pageable);
+    }
+
+    @Benchmark
+    public SliceDTO<Author> slice() {
+        return this.authorService.findAllToSlice(this.authorRequestParam, this.pageable, false);
+    }
+}
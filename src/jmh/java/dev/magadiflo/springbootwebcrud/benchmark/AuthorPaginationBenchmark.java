@@ -0,0 +1,119 @@
+package dev.magadiflo.springbootwebcrud.benchmark;
+
+import dev.magadiflo.springbootwebcrud.SpringBootWebCrudApplication;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorCursor;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorRequestParam;
+import dev.magadiflo.springbootwebcrud.model.dto.CursorPageDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.SliceDTO;
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.service.IAuthorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Página pageNumber (de pageSize filas) del listado de autores con OFFSET (con y sin COUNT(*)) frente a
+ * keyset (cursor de la última fila de la página anterior). A diferencia de los demás benchmarks ejecuta las
+ * consultas: levanta la aplicación sin servidor web con el perfil local (H2 en memoria) y registra los autores
+ * con un INSERT por lotes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AuthorPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100000"})
+    private int authors;
+
+    @Param({"0", "1000", "9000"})
+    private int pageNumber;
+
+    @Param({"id", "lastName"})
+    private String sort;
+
+    private ConfigurableApplicationContext context;
+    private IAuthorService authorService;
+    private AuthorRequestParam authorRequestParam;
+    private Pageable pageable;
+    private Sort.Order order;
+    private AuthorCursor cursor;
+
+    @Setup
+    public void setUp() {
+        this.context = SpringApplication.run(SpringBootWebCrudApplication.class,
+                "--spring.profiles.active=local",
+                "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN");
+        this.authorService = this.context.getBean(IAuthorService.class);
+
+        List<Object[]> rows = IntStream.range(0, this.authors)
+                .mapToObj(i -> new Object[]{BenchmarkFixtures.firstName(i), BenchmarkFixtures.lastName(i),
+                        Date.valueOf(LocalDate.of(1900, 1, 1).plusDays(i % 36500))})
+                .toList();
+        this.context.getBean(JdbcTemplate.class)
+                .batchUpdate("INSERT INTO authors(first_name, last_name, birthdate) VALUES(?, ?, ?)", rows);
+
+        this.authorRequestParam = new AuthorRequestParam(null, null);
+        this.order = Sort.Order.asc(this.sort);
+        this.pageable = PageRequest.of(this.pageNumber, PAGE_SIZE, Sort.by(this.order));
+        if (this.pageNumber > 0) {
+            SliceDTO<Author> previousPage = this.authorService.findAllToSlice(this.authorRequestParam,
+                    PageRequest.of(this.pageNumber - 1, PAGE_SIZE, Sort.by(this.order)), false);
+            this.cursor = AuthorCursor.of(this.order, previousPage.content().get(PAGE_SIZE - 1));
+        }
+
+        List<Long> offsetIds = this.offsetSlice().content().stream().map(Author::getId).toList();
+        List<Long> cursorIds = this.cursor().content().stream().map(Author::getId).toList();
+        if (!offsetIds.equals(cursorIds)) {
+            throw new IllegalStateException("OFFSET y keyset no devuelven la misma página: %s, %s".formatted(offsetIds, cursorIds));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Page<IAuthorProjection> offsetPage() {
+        return this.authorService.findAllToPage(this.authorRequestParam, this.pageable);
+    }
+
+    @Benchmark
+    public SliceDTO<Author> offsetSlice() {
+        return this.authorService.findAllToSlice(this.authorRequestParam, this.pageable, false);
+    }
+
+    @Benchmark
+    public CursorPageDTO<Author> cursor() {
+        return this.authorService.findAllToCursorPage(this.authorRequestParam, this.cursor, this.order, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,93 @@
+package dev.magadiflo.springbootwebcrud.benchmark;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecification;
+import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecs;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.MySQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armado de los predicados de AuthorSpecification y AuthorSpecs con el CriteriaBuilder de Hibernate.
+ * El SessionFactory se crea sin conexión a la BD (solo con el dialecto), así que no se ejecuta ninguna consulta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorSpecificationBenchmark {
+
+    @Param({"", "Garc"})
+    private String q;
+
+    @Param({"false", "true"})
+    private boolean withBirthdate;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private LocalDate birthdate;
+
+    @Setup
+    public void setUp() {
+        this.sessionFactory = new Configuration()
+                .addAnnotatedClass(Author.class)
+                .setProperty(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .setProperty("hibernate.temp.use_jdbc_metadata_defaults", "false")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory();
+        this.criteriaBuilder = this.sessionFactory.getCriteriaBuilder();
+        this.birthdate = this.withBirthdate ? LocalDate.of(1927, 3, 6) : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate authorSpecification() {
+        AuthorSpecification authorSpecification = AuthorSpecification.builder()
+                .q(this.q)
+                .birthdate(this.birthdate)
+                .build();
+        return this.toPredicate(authorSpecification);
+    }
+
+    @Benchmark
+    public Predicate authorSpecs() {
+        Specification<IAuthorProjection> condition1 = AuthorSpecs.isEqualToBirthdate(this.birthdate);
+        Specification<IAuthorProjection> condition2 = AuthorSpecs.fullNameContainsTheSearchedTerm(this.q);
+        return this.toPredicate(condition1.and(condition2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate toPredicate(Specification<IAuthorProjection> specification) {
+        CriteriaQuery<Author> query = this.criteriaBuilder.createQuery(Author.class);
+        Root<Author> root = query.from(Author.class);
+        return specification.toPredicate((Root<IAuthorProjection>) (Root<?>) root, query, this.criteriaBuilder);
+    }
+}
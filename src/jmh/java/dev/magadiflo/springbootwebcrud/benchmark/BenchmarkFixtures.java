@@ -0,0 +1,110 @@
+package dev.magadiflo.springbootwebcrud.benchmark;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Datos de prueba en memoria para los benchmarks, equivalentes a las proyecciones que devuelven las
+ * consultas nativas de los repositorios.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] FIRST_NAMES = {"Gabriel", "Julio", "Isabel", "Mario", "Jorge", "Octavio", "Rosario", "Elena"};
+    private static final String[] LAST_NAMES = {"García", "Cortázar", "Allende", "Vargas", "Borges", "Paz", "Castellanos", "Poniatowska"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static String firstName(int i) {
+        return FIRST_NAMES[i % FIRST_NAMES.length] + (i / FIRST_NAMES.length);
+    }
+
+    static String lastName(int i) {
+        return LAST_NAMES[(i / 3) % LAST_NAMES.length] + "x" + Integer.toString(i, 36);
+    }
+
+    static IAuthorProjection author(int i) {
+        return new AuthorProjection((long) i, firstName(i), lastName(i), LocalDate.of(1900, 1, 1).plusDays(i % 36500), 0L);
+    }
+
+    static List<IAuthorProjection> authors(int size) {
+        return IntStream.range(0, size).mapToObj(BenchmarkFixtures::author).toList();
+    }
+
+    static IBookProjection book(int authors) {
+        String concatAuthors = IntStream.range(0, authors)
+                .mapToObj(i -> firstName(i) + " " + lastName(i))
+                .collect(Collectors.joining(", "));
+        return new BookProjection(1L, "Cien años de soledad", LocalDate.of(1967, 5, 30), true, concatAuthors, 0L);
+    }
+
+    record AuthorProjection(Long id, String firstName, String lastName, LocalDate birthdate, Long version) implements IAuthorProjection {
+        @Override
+        public Long getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getFirstName() {
+            return this.firstName;
+        }
+
+        @Override
+        public String getLastName() {
+            return this.lastName;
+        }
+
+        @Override
+        public String getFullName() {
+            return this.firstName + " " + this.lastName;
+        }
+
+        @Override
+        public LocalDate getBirthdate() {
+            return this.birthdate;
+        }
+
+        @Override
+        public Long getVersion() {
+            return this.version;
+        }
+    }
+
+    record BookProjection(Long id, String title, LocalDate publicationDate, Boolean onlineAvailability,
+                          String concatAuthors, Long version) implements IBookProjection {
+        @Override
+        public Long getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getTitle() {
+            return this.title;
+        }
+
+        @Override
+        public LocalDate getPublicationDate() {
+            return this.publicationDate;
+        }
+
+        @Override
+        public Boolean getOnlineAvailability() {
+            return this.onlineAvailability;
+        }
+
+        @Override
+        public String getConcatAuthors() {
+            return this.concatAuthors;
+        }
+
+        @Override
+        public Long getVersion() {
+            return this.version;
+        }
+    }
+}
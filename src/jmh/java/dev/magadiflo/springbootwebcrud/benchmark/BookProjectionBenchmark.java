@@ -0,0 +1,44 @@
+package dev.magadiflo.springbootwebcrud.benchmark;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IBookProjection.getAuthors() vuelve a separar concatAuthors en cada llamada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookProjectionBenchmark {
+
+    @Param({"1", "5", "40"})
+    private int authors;
+
+    private IBookProjection bookProjection;
+
+    @Setup
+    public void setUp() {
+        this.bookProjection = BenchmarkFixtures.book(this.authors);
+    }
+
+    @Benchmark
+    public List<String> getAuthors() {
+        return this.bookProjection.getAuthors();
+    }
+}
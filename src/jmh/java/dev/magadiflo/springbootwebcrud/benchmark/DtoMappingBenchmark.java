@@ -0,0 +1,97 @@
+package dev.magadiflo.springbootwebcrud.benchmark;
+
+import dev.magadiflo.springbootwebcrud.model.dto.RegisterAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.RegisterBookDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.UpdateAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.mapper.AuthorMapper;
+import dev.magadiflo.springbootwebcrud.model.mapper.BookMapper;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo de DTO a entidad: ModelMapper configurado como lo estaba el bean de AppConfig (STRICT para el book,
+ * como hacía BookServiceImpl) frente a AuthorMapper y BookMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private ModelMapper strictModelMapper;
+    private RegisterAuthorDTO registerAuthorDTO;
+    private UpdateAuthorDTO updateAuthorDTO;
+    private RegisterBookDTO registerBookDTO;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = newModelMapper();
+        this.strictModelMapper = newModelMapper();
+        this.strictModelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+
+        LocalDate birthdate = LocalDate.of(1927, 3, 6);
+        this.registerAuthorDTO = new RegisterAuthorDTO("Gabriel", "García Márquez", birthdate);
+        this.updateAuthorDTO = new UpdateAuthorDTO("Gabriel", "García Márquez", birthdate);
+        this.registerBookDTO = new RegisterBookDTO("Cien años de soledad", LocalDate.of(1967, 5, 30), true, List.of(1L, 2L, 3L));
+    }
+
+    @Benchmark
+    public Author registerAuthorModelMapper() {
+        return this.modelMapper.map(this.registerAuthorDTO, Author.class);
+    }
+
+    @Benchmark
+    public Author registerAuthorMapper() {
+        return AuthorMapper.toAuthor(this.registerAuthorDTO);
+    }
+
+    @Benchmark
+    public Author updateAuthorModelMapper() {
+        Author author = this.modelMapper.map(this.updateAuthorDTO, Author.class);
+        author.setId(1L);
+        return author;
+    }
+
+    @Benchmark
+    public Author updateAuthorMapper() {
+        return AuthorMapper.toAuthor(1L, this.updateAuthorDTO);
+    }
+
+    @Benchmark
+    public Book registerBookModelMapper() {
+        return this.strictModelMapper.map(this.registerBookDTO, Book.class);
+    }
+
+    @Benchmark
+    public Book registerBookMapper() {
+        return BookMapper.toBook(this.registerBookDTO);
+    }
+
+    private static ModelMapper newModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(Configuration.AccessLevel.PRIVATE);
+        return modelMapper;
+    }
+}
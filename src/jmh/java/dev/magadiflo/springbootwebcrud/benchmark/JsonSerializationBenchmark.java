@@ -0,0 +1,61 @@
+package dev.magadiflo.springbootwebcrud.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.web.util.ResponseMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de las respuestas de AuthorRestController.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"5", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ResponseMessage<IAuthorProjection> responseMessage;
+    private Page<IAuthorProjection> page;
+
+    @Setup
+    public void setUp() {
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.responseMessage = new ResponseMessage<>("Registro actualizado", BenchmarkFixtures.author(1));
+        this.page = new PageImpl<>(BenchmarkFixtures.authors(this.pageSize),
+                PageRequest.of(3, this.pageSize, Sort.by("id")), 1_000_000);
+    }
+
+    @Benchmark
+    public byte[] responseMessage() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.responseMessage);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.page);
+    }
+}
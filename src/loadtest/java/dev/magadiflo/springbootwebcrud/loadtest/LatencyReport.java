@@ -0,0 +1,131 @@
+package dev.magadiflo.springbootwebcrud.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reporte de una ejecución: una fila por operación con el throughput de respuestas 2xx y sus percentiles en
+ * milisegundos. Se guarda como texto (label.txt) para compararlo con ejecuciones posteriores y los histogramas
+ * completos en formato HdrHistogram (label.hlog), que se pueden graficar con HistogramLogAnalyzer.
+ */
+public final class LatencyReport {
+
+    private static final String ROW_FORMAT = "%-14s %9s %9s %9s %9s %9s %9s %8s %7s %7s %8s %8s%n";
+    private static final String TOTAL = "total";
+
+    private final String label;
+    private final LoadTestSettings settings;
+    private final Duration duration;
+    private final List<OperationResult> results;
+
+    public LatencyReport(String label, LoadTestSettings settings, Duration duration, List<OperationResult> results) {
+        this.label = label;
+        this.settings = settings;
+        this.duration = duration;
+        this.results = results;
+    }
+
+    public String render() {
+        StringBuilder report = new StringBuilder();
+        report.append("# label: %s, rate: %d/s, duración: %s, timeout: %s%n".formatted(this.label, this.settings.rate(),
+                this.duration, this.settings.timeout()));
+        report.append("# mix: %s%n".formatted(this.settings.mix()));
+        report.append("# appArgs: %s%n".formatted(String.join(" ", this.settings.appArgs())));
+        report.append(ROW_FORMAT.formatted("operation", "ok/s", "p50", "p90", "p99", "p99.9", "max", "ok", "shed", "errors", "timeouts", "skipped"));
+
+        Histogram total = new Histogram(3);
+        long shed = 0, errors = 0, timeouts = 0, skipped = 0;
+        for (OperationResult result : this.results) {
+            this.row(report, result.operation().key(), result.latencies(), result.shed(), result.errors(), result.timeouts(), result.skipped());
+            total.add(result.latencies());
+            shed += result.shed();
+            errors += result.errors();
+            timeouts += result.timeouts();
+            skipped += result.skipped();
+        }
+        this.row(report, TOTAL, total, shed, errors, timeouts, skipped);
+        return report.toString();
+    }
+
+    /**
+     * @return ruta del reporte de texto
+     */
+    public Path save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path text = directory.resolve(this.label + ".txt");
+        Files.writeString(text, this.render());
+
+        Path log = directory.resolve(this.label + ".hlog");
+        try (PrintStream out = new PrintStream(log.toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputComment(this.label);
+            writer.outputLegend();
+            for (OperationResult result : this.results) {
+                writer.outputIntervalHistogram(0, this.duration.toMillis() / 1000.0, result.latencies(), 1000.0);
+            }
+        } catch (FileNotFoundException e) {
+            throw new IOException(e);
+        }
+        return text;
+    }
+
+    /**
+     * Compara p50, p99 y throughput de cada operación con un reporte guardado anteriormente.
+     */
+    public String compareWith(Path baseline) throws IOException {
+        Map<String, String[]> before = parse(Files.readAllLines(baseline));
+        Map<String, String[]> after = parse(this.render().lines().toList());
+
+        StringBuilder comparison = new StringBuilder("# comparación con %s%n".formatted(baseline.getFileName()));
+        comparison.append("%-14s %22s %22s %22s%n".formatted("operation", "ok/s", "p50", "p99"));
+        after.forEach((operation, columns) -> {
+            String[] previous = before.get(operation);
+            if (previous == null) {
+                return;
+            }
+            comparison.append("%-14s %22s %22s %22s%n".formatted(operation, change(previous[1], columns[1]),
+                    change(previous[2], columns[2]), change(previous[4], columns[4])));
+        });
+        return comparison.toString();
+    }
+
+    private void row(StringBuilder report, String operation, Histogram latencies, long shed, long errors, long timeouts, long skipped) {
+        double seconds = this.duration.toMillis() / 1000.0;
+        report.append(ROW_FORMAT.formatted(operation, String.format(Locale.ROOT, "%.1f", latencies.getTotalCount() / seconds),
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()), latencies.getTotalCount(), shed, errors, timeouts, skipped));
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.2f", micros / 1000.0);
+    }
+
+    private static Map<String, String[]> parse(List<String> lines) {
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        lines.stream()
+                .filter(line -> !line.isBlank() && !line.startsWith("#") && !line.startsWith("operation"))
+                .map(line -> line.trim().split("\\s+"))
+                .forEach(columns -> rows.put(columns[0], columns));
+        return rows;
+    }
+
+    private static String change(String before, String after) {
+        double previous = Double.parseDouble(before);
+        double current = Double.parseDouble(after);
+        String percent = previous == 0 ? "" : String.format(Locale.ROOT, " (%+.0f%%)", (current - previous) * 100 / previous);
+        return "%s -> %s%s".formatted(before, after, percent);
+    }
+}
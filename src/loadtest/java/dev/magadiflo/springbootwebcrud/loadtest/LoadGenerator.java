@@ -0,0 +1,87 @@
+package dev.magadiflo.springbootwebcrud.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: las peticiones se envían a un ritmo constante, cada una en su hilo
+ * virtual, sin esperar a que terminen las anteriores. Si el servidor se satura las peticiones se acumulan
+ * como ocurriría con clientes reales.
+ * <p>
+ * La latencia se mide desde el instante en que la petición debía enviarse según el ritmo, no desde que se
+ * envió. Así un retraso del propio generador (o una pausa del GC) se refleja en las latencias en lugar de
+ * ocultarse (omisión coordinada).
+ */
+public final class LoadGenerator {
+
+    private final HttpClient client;
+    private final SeedData seed;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Operation[] operations;
+
+    public LoadGenerator(HttpClient client, SeedData seed, String baseUrl, Duration timeout, Operation[] operations) {
+        this.client = client;
+        this.seed = seed;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.operations = operations;
+    }
+
+    /**
+     * Envía rate peticiones por segundo durante duration y espera a que terminen las que siguen en curso.
+     */
+    public Map<Operation, OperationResult> run(int rate, Duration duration) {
+        Map<Operation, OperationResult> results = new EnumMap<>(Operation.class);
+        for (Operation operation : this.operations) {
+            results.computeIfAbsent(operation, OperationResult::new);
+        }
+
+        long intervalNanos = 1_000_000_000L / rate;
+        long total = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intendedStart = start + i * intervalNanos;
+                long delay = intendedStart - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                Operation operation = this.operations[ThreadLocalRandom.current().nextInt(this.operations.length)];
+                OperationResult result = results.get(operation);
+                Optional<HttpRequest> request = operation.request(this.seed, this.baseUrl, this.timeout);
+                if (request.isEmpty()) {
+                    result.recordSkipped();
+                    continue;
+                }
+                executor.execute(() -> this.send(request.get(), intendedStart, result));
+            }
+        }
+        return results;
+    }
+
+    private void send(HttpRequest request, long intendedStart, OperationResult result) {
+        try {
+            HttpResponse<Void> response = this.client.send(request, HttpResponse.BodyHandlers.discarding());
+            result.recordResponse(response.statusCode(), System.nanoTime() - intendedStart);
+        } catch (HttpTimeoutException e) {
+            result.recordTimeout();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            result.recordError();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.magadiflo.springbootwebcrud.loadtest;
+
+import dev.magadiflo.springbootwebcrud.SpringBootWebCrudApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Prueba de carga local. Si no se indica loadtest.url, levanta la aplicación con el perfil local (H2 en memoria)
+ * en un puerto libre, registra los datos de prueba, calienta y mide con el mix de operaciones. Ver el perfil
+ * loadtest del pom.xml para los parámetros.
+ */
+public class LoadTest {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Operation[] operations = Operation.weightedTable(settings.mix());
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = settings.url();
+        if (baseUrl.isBlank()) {
+            context = startApplication(settings.appArgs());
+            baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            System.out.printf("Registrando %d autores y %d books en %s%n", settings.authors(), settings.books(), baseUrl);
+            SeedData seed = SeedData.create(client, baseUrl, settings.authors(), settings.books());
+            LoadGenerator generator = new LoadGenerator(client, seed, baseUrl, settings.timeout(), operations);
+
+            System.out.printf("Calentamiento: %d peticiones/s durante %s%n", settings.rate(), settings.warmup());
+            generator.run(settings.rate(), settings.warmup());
+
+            System.out.printf("Medición: %d peticiones/s durante %s%n", settings.rate(), settings.duration());
+            Map<Operation, OperationResult> results = generator.run(settings.rate(), settings.duration());
+
+            String label = (settings.label().isBlank() ? gitCommit() : settings.label()) + "-" + LocalDateTime.now().format(TIMESTAMP);
+            LatencyReport report = new LatencyReport(label, settings, settings.duration(), new ArrayList<>(results.values()));
+            System.out.println(report.render());
+            System.out.println("Reporte guardado en " + report.save(settings.reportDir()));
+            if (settings.baseline() != null) {
+                System.out.println(report.compareWith(settings.baseline()));
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Los valores por defecto se pasan como argumentos (application.yml tiene prioridad sobre las propiedades por
+     * defecto de SpringApplication), salvo los que appArgs sobrescribe.
+     */
+    private static ConfigurableApplicationContext startApplication(String[] appArgs) {
+        Map<String, String> defaults = Map.of(
+                "spring.profiles.active", "local",
+                "server.port", "0",
+                "management.server.port", "-1",
+                "logging.level.root", "WARN");
+        List<String> args = new ArrayList<>(List.of(appArgs));
+        defaults.forEach((name, value) -> {
+            if (args.stream().noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+                args.add("--%s=%s".formatted(name, value));
+            }
+        });
+        return SpringApplication.run(SpringBootWebCrudApplication.class, args.toArray(String[]::new));
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 && !commit.isEmpty() ? commit : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.magadiflo.springbootwebcrud.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración de la prueba de carga, se lee de propiedades del sistema (-Dloadtest.rate=300 ...).
+ *
+ * @param url,        URL de una instancia ya levantada; si está vacía se levanta la aplicación con H2 en memoria
+ * @param appArgs,    propiedades adicionales para la aplicación levantada separadas por espacios, con o sin el
+ *                    prefijo -- (ej. spring.threads.virtual.enabled=true)
+ * @param rate,       peticiones por segundo (modelo abierto: se envían a ese ritmo aunque las anteriores no terminen)
+ * @param warmup,     duración del calentamiento, sus latencias no se reportan
+ * @param duration,   duración de la medición
+ * @param timeout,    tiempo máximo de cada petición
+ * @param authors,    autores que se registran antes de la prueba
+ * @param books,      books que se registran antes de la prueba
+ * @param mix,        operación -> peso, en el formato author-by-id:40,paginated:15,...
+ * @param reportDir,  directorio donde se guardan los reportes
+ * @param label,      nombre del reporte, por defecto el commit actual
+ * @param baseline,   reporte anterior con el que se compara el resultado
+ */
+public record LoadTestSettings(String url,
+                               String[] appArgs,
+                               int rate,
+                               Duration warmup,
+                               Duration duration,
+                               Duration timeout,
+                               int authors,
+                               int books,
+                               Map<String, Integer> mix,
+                               Path reportDir,
+                               String label,
+                               Path baseline) {
+
+    private static final String DEFAULT_MIX = "author-by-id:40,paginated:15,specs:15,create-book:15,delete-book:10,delete-author:5";
+
+    public static LoadTestSettings fromSystemProperties() {
+        String appArgs = property("appArgs", "");
+        String baseline = property("baseline", "");
+        return new LoadTestSettings(
+                property("url", ""),
+                appArgs.isBlank() ? new String[0] : Arrays.stream(appArgs.trim().split("\\s+"))
+                        .map(arg -> arg.startsWith("--") ? arg : "--" + arg)
+                        .toArray(String[]::new),
+                Integer.parseInt(property("rate", "200")),
+                Duration.parse(property("warmup", "PT20S")),
+                Duration.parse(property("duration", "PT60S")),
+                Duration.parse(property("timeout", "PT5S")),
+                Integer.parseInt(property("authors", "20000")),
+                Integer.parseInt(property("books", "10000")),
+                parseMix(property("mix", DEFAULT_MIX)),
+                Path.of(property("reportDir", "target/loadtest")),
+                property("label", ""),
+                baseline.isBlank() ? null : Path.of(baseline));
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        Arrays.stream(mix.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .forEach(entry -> {
+                    String[] parts = entry.split(":");
+                    weights.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+                });
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
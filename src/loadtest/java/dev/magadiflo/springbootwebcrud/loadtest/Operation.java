@@ -0,0 +1,88 @@
+package dev.magadiflo.springbootwebcrud.loadtest;
+
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorCursor;
+import org.springframework.data.domain.Sort;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Operaciones que se pueden incluir en el mix. Cada una arma la petición a partir de los datos registrados antes
+ * de la prueba (SeedData); empty() si ya no quedan datos para ella (ej. no quedan books por eliminar).
+ * <p>
+ * deep-offset y deep-cursor piden la misma posición (fila 10000, la página 1000 de 10 filas) con OFFSET y con
+ * keyset, no están en el mix por defecto.
+ */
+public enum Operation {
+
+    AUTHOR_BY_ID("author-by-id", (seed, base) -> Optional.of(get(base, "/api/v1/authors/" + seed.randomReadableAuthorId()))),
+    PAGINATED("paginated", (seed, base) -> Optional.of(get(base, "/api/v1/authors/paginated?q=%s&pageNumber=%d&pageSize=10"
+            .formatted(SeedData.randomShortTerm(), random(10))))),
+    SPECS("specs", (seed, base) -> Optional.of(get(base, "/api/v1/authors/specs?q=" + seed.randomLastName()))),
+    CREATE_BOOK("create-book", (seed, base) -> Optional.of(HttpRequest.newBuilder(URI.create(base + "/api/v1/books/with-authors"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("""
+                    {"title": "Load %d", "publicationDate": "01/01/2020", "onlineAvailability": true, "authorIdList": [%d, %d]}
+                    """.formatted(random(1_000_000), seed.randomReadableAuthorId(), seed.randomReadableAuthorId())))
+            .build())),
+    DELETE_BOOK("delete-book", (seed, base) -> seed.nextBookIdToDelete()
+            .map(id -> HttpRequest.newBuilder(URI.create(base + "/api/v1/books/with-authors-list/" + id)).DELETE().build())),
+    DELETE_AUTHOR("delete-author", (seed, base) -> seed.nextAuthorIdToDelete()
+            .map(id -> HttpRequest.newBuilder(URI.create(base + "/api/v1/authors/" + id)).DELETE().build())),
+    DEEP_OFFSET("deep-offset", (seed, base) -> Optional.of(get(base, "/api/v1/authors/paginated?pageNumber=1000&pageSize=10&total=none"))),
+    DEEP_CURSOR("deep-cursor", (seed, base) -> {
+        long lastId = seed.firstAuthorId() + 10_000 - 1;
+        String cursor = new AuthorCursor("id", Sort.Direction.ASC, String.valueOf(lastId), lastId).encode();
+        return Optional.of(get(base, "/api/v1/authors/paginated/cursor?pageSize=10&cursor=" + cursor));
+    });
+
+    private final String key;
+    private final BiFunction<SeedData, String, Optional<HttpRequest>> requestFactory;
+
+    Operation(String key, BiFunction<SeedData, String, Optional<HttpRequest>> requestFactory) {
+        this.key = key;
+        this.requestFactory = requestFactory;
+    }
+
+    public String key() {
+        return this.key;
+    }
+
+    public Optional<HttpRequest> request(SeedData seed, String baseUrl, Duration timeout) {
+        return this.requestFactory.apply(seed, baseUrl).map(request -> HttpRequest.newBuilder(request, (name, value) -> true)
+                .timeout(timeout)
+                .build());
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + key);
+    }
+
+    /**
+     * @return tabla para elegir una operación al azar según los pesos del mix
+     */
+    public static Operation[] weightedTable(Map<String, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(() -> fromKey(entry.getKey())).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+    }
+
+    private static HttpRequest get(String baseUrl, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.magadiflo.springbootwebcrud.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultado de una operación durante la medición. Las latencias (en microsegundos) solo se registran para las
+ * respuestas 2xx; los 503 (carga rechazada), los demás errores y los timeouts se cuentan aparte.
+ */
+public final class OperationResult {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Operation operation;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public OperationResult(Operation operation) {
+        this.operation = operation;
+        this.latencies.setTag(operation.key());
+    }
+
+    public void recordResponse(int status, long latencyNanos) {
+        if (status >= 200 && status < 300) {
+            this.latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        } else if (status == 503) {
+            this.shed.increment();
+        } else {
+            this.errors.increment();
+        }
+    }
+
+    public void recordTimeout() {
+        this.timeouts.increment();
+    }
+
+    public void recordError() {
+        this.errors.increment();
+    }
+
+    /**
+     * No se envió la petición porque no quedaban datos para la operación (ej. books por eliminar).
+     */
+    public void recordSkipped() {
+        this.skipped.increment();
+    }
+
+    public Operation operation() {
+        return this.operation;
+    }
+
+    public Histogram latencies() {
+        return this.latencies;
+    }
+
+    public long ok() {
+        return this.latencies.getTotalCount();
+    }
+
+    public long shed() {
+        return this.shed.sum();
+    }
+
+    public long errors() {
+        return this.errors.sum();
+    }
+
+    public long timeouts() {
+        return this.timeouts.sum();
+    }
+
+    public long skipped() {
+        return this.skipped.sum();
+    }
+
+    public long sent() {
+        return this.ok() + this.shed() + this.errors() + this.timeouts();
+    }
+}
@@ -0,0 +1,113 @@
+package dev.magadiflo.springbootwebcrud.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Autores y books registrados antes de la prueba con los endpoints de importación. Los ids se obtienen del
+ * último registro después de importar, se asume que nadie más registra mientras tanto.
+ * <p>
+ * El 80% de los autores se usa para las lecturas y el resto se va eliminando con delete-author, así las
+ * lecturas no reciben 404. Los books se eliminan desde el último registrado.
+ */
+public final class SeedData {
+
+    private static final String[] FIRST_NAMES = {"Ana", "Luis", "María", "Jorge", "Lucía", "Pedro", "Sofía", "Diego", "Elena", "Pablo"};
+    private static final String[] SHORT_TERMS = {"an", "lu", "ma", "jo", "ped", "so", "di", "el", "pa", "ia"};
+    private static final String LAST_NAME = "Apellido";
+
+    private final long firstAuthorId;
+    private final long lastReadableAuthorId;
+    private final long firstBookId;
+    private final AtomicLong nextAuthorToDelete;
+    private final AtomicLong nextBookToDelete;
+
+    private SeedData(long firstAuthorId, long lastAuthorId, long firstBookId, long lastBookId) {
+        this.firstAuthorId = firstAuthorId;
+        this.lastReadableAuthorId = firstAuthorId + (lastAuthorId - firstAuthorId) * 8 / 10;
+        this.firstBookId = firstBookId;
+        this.nextAuthorToDelete = new AtomicLong(lastAuthorId);
+        this.nextBookToDelete = new AtomicLong(lastBookId);
+    }
+
+    public static SeedData create(HttpClient client, String baseUrl, int authors, int books) throws IOException, InterruptedException {
+        StringBuilder authorsCsv = new StringBuilder("firstName,lastName,birthdate\n");
+        for (int i = 0; i < authors; i++) {
+            authorsCsv.append("%s,%s%d,%02d/%02d/%d\n".formatted(FIRST_NAMES[i % FIRST_NAMES.length], LAST_NAME, i,
+                    i % 28 + 1, i % 12 + 1, 1940 + i % 60));
+        }
+        importCsv(client, baseUrl + "/api/v1/import/authors", authorsCsv);
+        long lastAuthorId = lastId(client, baseUrl + "/api/v1/authors/paginated/cursor?pageSize=1&sort=id,desc");
+        long firstAuthorId = lastAuthorId - authors + 1;
+
+        StringBuilder booksCsv = new StringBuilder("title,publicationDate,onlineAvailability,authorIdList\n");
+        for (int i = 0; i < books; i++) {
+            booksCsv.append("Book %d,01/01/%d,%b,%d;%d\n".formatted(i, 1950 + i % 70, i % 2 == 0,
+                    firstAuthorId + i % authors, firstAuthorId + (i * 7L + 1) % authors));
+        }
+        importCsv(client, baseUrl + "/api/v1/import/books/with-authors", booksCsv);
+        long lastBookId = lastId(client, baseUrl + "/api/v1/books?pageSize=1&sort=id,desc");
+
+        return new SeedData(firstAuthorId, lastAuthorId, lastBookId - books + 1, lastBookId);
+    }
+
+    public long firstAuthorId() {
+        return this.firstAuthorId;
+    }
+
+    public long randomReadableAuthorId() {
+        return ThreadLocalRandom.current().nextLong(this.firstAuthorId, this.lastReadableAuthorId + 1);
+    }
+
+    /**
+     * @return apellido de uno de los autores de lectura, como término selectivo para /specs
+     */
+    public String randomLastName() {
+        return LAST_NAME + (this.randomReadableAuthorId() - this.firstAuthorId);
+    }
+
+    public Optional<Long> nextAuthorIdToDelete() {
+        long id = this.nextAuthorToDelete.getAndDecrement();
+        return id > this.lastReadableAuthorId ? Optional.of(id) : Optional.empty();
+    }
+
+    public Optional<Long> nextBookIdToDelete() {
+        long id = this.nextBookToDelete.getAndDecrement();
+        return id >= this.firstBookId ? Optional.of(id) : Optional.empty();
+    }
+
+    /**
+     * @return término de menos de 3 caracteres, no usa el índice de trigramas (LIKE sobre toda la tabla)
+     */
+    public static String randomShortTerm() {
+        return SHORT_TERMS[ThreadLocalRandom.current().nextInt(SHORT_TERMS.length)];
+    }
+
+    private static void importCsv(HttpClient client, String url, CharSequence csv) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo importar en %s: %d %s".formatted(url, response.statusCode(), response.body()));
+        }
+    }
+
+    private static long lastId(HttpClient client, String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode content = new ObjectMapper().readTree(response.body()).path("content");
+        if (content.isEmpty()) {
+            throw new IllegalStateException("No hay registros en " + url);
+        }
+        return content.get(0).path("id").asLong();
+    }
+}
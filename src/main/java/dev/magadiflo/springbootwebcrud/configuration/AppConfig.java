@@ -1,16 +1,16 @@
 package dev.magadiflo.springbootwebcrud.configuration;
 
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.Arrays;
 
 @Slf4j
+@EnableScheduling
 @Configuration
 public class AppConfig implements WebMvcConfigurer {
 
@@ -42,13 +42,4 @@ public class AppConfig implements WebMvcConfigurer {
                 .allowedMethods(this.allowedMethods)
                 .maxAge(this.maxAge);
     }
-
-    @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration()
-                .setFieldMatchingEnabled(true)
-                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
-        return modelMapper;
-    }
 }
@@ -0,0 +1,46 @@
+package dev.magadiflo.springbootwebcrud.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caché en memoria (Caffeine) para las consultas por id de authors y books. Cada caché tiene un tamaño máximo
+ * y un tiempo de expiración; las invalidaciones se hacen en los métodos de escritura de los servicios y,
+ * al ser TransactionAware, se aplican recién cuando la transacción hace commit.
+ */
+@Slf4j
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String AUTHORS_CACHE = "authors";
+    public static final String BOOKS_CACHE = "books";
+
+    @Value("${app.cache.maximumSize:10000}")
+    private long maximumSize;
+
+    @Value("${app.cache.expireAfterWrite:PT5M}")
+    private Duration expireAfterWrite;
+
+    @Bean
+    public CacheManager cacheManager() {
+        log.info("cache maximumSize: {}, expireAfterWrite: {}", this.maximumSize, this.expireAfterWrite);
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(AUTHORS_CACHE, BOOKS_CACHE);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(this.maximumSize)
+                .expireAfterWrite(this.expireAfterWrite)
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
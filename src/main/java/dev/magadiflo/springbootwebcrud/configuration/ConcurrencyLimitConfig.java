@@ -0,0 +1,79 @@
+package dev.magadiflo.springbootwebcrud.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.magadiflo.springbootwebcrud.web.filter.AdaptiveConcurrencyLimit;
+import dev.magadiflo.springbootwebcrud.web.filter.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+
+/**
+ * Límite de concurrencia adaptativo para la API (ver AdaptiveConcurrencyLimit), se activa con
+ * app.concurrency-limit.enabled=true.
+ */
+@Slf4j
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true")
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit readConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        return limit("read", properties.read(), properties);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit writeConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        return limit("write", properties.write(), properties);
+    }
+
+    /**
+     * Se registra antes que los demás filtros, así una petición rechazada no llega a hacer ningún trabajo.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimit readConcurrencyLimit,
+                                                                                 AdaptiveConcurrencyLimit writeConcurrencyLimit,
+                                                                                 ConcurrencyLimitProperties properties,
+                                                                                 ObjectMapper objectMapper) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(readConcurrencyLimit, writeConcurrencyLimit,
+                properties.retryAfterSeconds(), properties.excludedPaths(), objectMapper);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(AdaptiveConcurrencyLimit readConcurrencyLimit,
+                                               AdaptiveConcurrencyLimit writeConcurrencyLimit) {
+        return registry -> Map.of("read", readConcurrencyLimit, "write", writeConcurrencyLimit).forEach((type, limit) -> {
+            Gauge.builder("app.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Peticiones concurrentes permitidas")
+                    .tag("type", type)
+                    .register(registry);
+            Gauge.builder("app.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Peticiones en curso")
+                    .tag("type", type)
+                    .register(registry);
+            FunctionCounter.builder("app.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                    .description("Peticiones rechazadas con 503 por superar el límite")
+                    .tag("type", type)
+                    .register(registry);
+        });
+    }
+
+    private static AdaptiveConcurrencyLimit limit(String name, ConcurrencyLimitProperties.Limit limit,
+                                                  ConcurrencyLimitProperties properties) {
+        log.info("Límite de concurrencia {}: inicial {}, mínimo {}, máximo {}", name, limit.initialLimit(), limit.minLimit(), limit.maxLimit());
+        return new AdaptiveConcurrencyLimit(name, limit.initialLimit(), limit.minLimit(), limit.maxLimit(),
+                properties.tolerance(), properties.backoffRatio(), properties.window(), properties.minWindowSamples());
+    }
+}
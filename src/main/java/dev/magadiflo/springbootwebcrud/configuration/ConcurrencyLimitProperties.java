@@ -0,0 +1,35 @@
+package dev.magadiflo.springbootwebcrud.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled,           activa el límite de concurrencia adaptativo para /api/v1/**
+ * @param read,              límites para GET, HEAD y OPTIONS
+ * @param write,             límites para el resto de métodos
+ * @param tolerance,         cuántas veces la latencia de referencia se considera aún normal
+ * @param backoffRatio,      factor por el que se multiplica el límite al detectar sobrecarga
+ * @param window,            duración mínima de cada ventana de muestras
+ * @param minWindowSamples,  muestras mínimas de cada ventana
+ * @param retryAfterSeconds, valor de Retry-After en las peticiones rechazadas
+ * @param excludedPaths,     rutas (patrones Ant) que no se limitan
+ */
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public record ConcurrencyLimitProperties(boolean enabled,
+                                         @DefaultValue Limit read,
+                                         @DefaultValue Limit write,
+                                         @DefaultValue("1.5") double tolerance,
+                                         @DefaultValue("0.9") double backoffRatio,
+                                         @DefaultValue("PT0.1S") Duration window,
+                                         @DefaultValue("10") int minWindowSamples,
+                                         @DefaultValue("1") long retryAfterSeconds,
+                                         @DefaultValue({"/api/v1/authors/export", "/api/v1/import/**"}) List<String> excludedPaths) {
+
+    public record Limit(@DefaultValue("20") int initialLimit,
+                        @DefaultValue("5") int minLimit,
+                        @DefaultValue("200") int maxLimit) {
+    }
+}
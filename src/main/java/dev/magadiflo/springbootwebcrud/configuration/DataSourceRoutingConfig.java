@@ -0,0 +1,87 @@
+package dev.magadiflo.springbootwebcrud.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.magadiflo.springbootwebcrud.persistence.datasource.ReadWriteRoutingDataSource;
+import dev.magadiflo.springbootwebcrud.web.filter.ReadYourWritesFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reemplaza el DataSource de Spring Boot por uno que envía las transacciones readOnly a las réplicas
+ * (app.datasource.routing.replicas) y el resto a la primaria (spring.datasource). Se activa con
+ * app.datasource.routing.enabled=true.
+ */
+@Slf4j
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 RoutingDataSourceProperties routingProperties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Replica replicaProperties : routingProperties.replicas()) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(replicaProperties.url());
+            replica.setDriverClassName(DatabaseDriver.fromJdbcUrl(replicaProperties.url()).getDriverClassName());
+            replica.setUsername(replicaProperties.username());
+            replica.setPassword(replicaProperties.password());
+            replica.setReadOnly(true);
+            if (replicaProperties.maximumPoolSize() != null) {
+                replica.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            }
+            replicas.add(replica);
+        }
+        log.info("DataSource primario y {} réplicas, readYourWritesWindow: {}", replicas.size(), routingProperties.readYourWritesWindow());
+
+        return new ReadWriteRoutingDataSource(this.pool(primary, meterRegistry, environment),
+                replicas.stream().map(replica -> this.pool(replica, meterRegistry, environment)).toList());
+    }
+
+    /**
+     * El TransactionManager pide la conexión antes de marcar la transacción como readOnly, el proxy la
+     * obtiene recién en la primera sentencia, cuando ReadWriteRoutingDataSource ya puede decidir.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(RoutingDataSourceProperties routingProperties) {
+        return new ReadYourWritesFilter(routingProperties.readYourWritesWindow());
+    }
+
+    private DataSource pool(HikariDataSource hikari, ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        meterRegistry.ifAvailable(hikari::setMetricRegistry);
+        return Threading.VIRTUAL.isActive(environment) ?
+                VirtualThreadConfig.limitConnections(hikari.getPoolName(), hikari, environment) : hikari;
+    }
+}
@@ -0,0 +1,54 @@
+package dev.magadiflo.springbootwebcrud.configuration;
+
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryBookRepository;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryStore;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryTransactionManager;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Motor de almacenamiento en memoria (perfil memory): los repositorios se implementan sobre MemoryStore en
+ * lugar de JPA, y las transacciones con MemoryTransactionManager. Los servicios no cambian. La configuración
+ * de DataSource, JPA y Flyway se excluye en application-memory.yml.
+ * <p>
+ * Los datos no se guardan en disco, se cargan al iniciar con los endpoints de importación.
+ */
+@Slf4j
+@Profile("memory")
+@Configuration
+public class MemoryStorageConfig {
+
+    @Bean
+    public MemoryStore memoryStore() {
+        log.info("Usando el motor de almacenamiento en memoria, los datos se pierden al detener la aplicación");
+        return new MemoryStore();
+    }
+
+    @Bean
+    public IAuthorRepository authorRepository(MemoryStore memoryStore) {
+        return new MemoryAuthorRepository(memoryStore);
+    }
+
+    @Bean
+    public IBookRepository bookRepository(MemoryStore memoryStore) {
+        return new MemoryBookRepository(memoryStore);
+    }
+
+    @Bean
+    public IBookAuthorRepository bookAuthorRepository(MemoryStore memoryStore) {
+        return new MemoryBookAuthorRepository(memoryStore);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(MemoryStore memoryStore) {
+        return new MemoryTransactionManager(memoryStore);
+    }
+}
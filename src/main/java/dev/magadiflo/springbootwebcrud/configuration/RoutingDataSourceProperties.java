@@ -0,0 +1,25 @@
+package dev.magadiflo.springbootwebcrud.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled,              activa el enrutamiento de las transacciones readOnly a las réplicas
+ * @param readYourWritesWindow, tiempo durante el cual un cliente que escribió lee de la primaria
+ * @param replicas,             réplicas de solo lectura; el resto de la configuración del pool se copia de
+ *                              spring.datasource.hikari
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record RoutingDataSourceProperties(boolean enabled,
+                                          @DefaultValue("PT5S") Duration readYourWritesWindow,
+                                          @DefaultValue List<Replica> replicas) {
+
+    public record Replica(String url,
+                          String username,
+                          String password,
+                          Integer maximumPoolSize) {
+    }
+}
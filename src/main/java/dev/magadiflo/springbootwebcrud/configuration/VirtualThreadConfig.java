@@ -0,0 +1,74 @@
+package dev.magadiflo.springbootwebcrud.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.magadiflo.springbootwebcrud.persistence.datasource.ConnectionLimitingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Modo de ejecución con hilos virtuales (spring.threads.virtual.enabled=true). Spring Boot ya hace que Tomcat y
+ * los executors usen hilos virtuales, así que las peticiones y los métodos @Transactional que invocan corren
+ * en ellos. Aquí solo se envuelve el DataSource para que la concurrencia contra la BD la limite el tamaño del
+ * pool de conexiones y no el número de hilos.
+ * <p>
+ * Con la prueba de carga (perfil loadtest, H2 en memoria, 1 CPU, mix por defecto) no hubo mejora: a 100 peticiones/s
+ * el throughput fue el mismo y el p99 subió de 178 ms a 279 ms; a 200 peticiones/s, con la CPU saturada, el p99 pasó
+ * de 2.5 s a 3.0 s. Con H2 las consultas no esperan I/O, que es donde ayudan los hilos virtuales, así que la
+ * comparación que decide activarlo debe repetirse contra MySQL.
+ */
+@Slf4j
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Configuration
+public class VirtualThreadConfig {
+
+    /**
+     * Envuelve los pools Hikari declarados como beans. Los pools que arma DataSourceRoutingConfig no son
+     * beans y se envuelven allí con limitConnections.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return limitConnections(beanName, hikari, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static DataSource limitConnections(String name, HikariDataSource hikari, Environment environment) {
+        Duration acquireTimeout = environment.getProperty("app.datasource.acquireTimeout", Duration.class, Duration.ofSeconds(2));
+        log.info("DataSource {} limitado a {} conexiones concurrentes, acquireTimeout: {}", name, hikari.getMaximumPoolSize(), acquireTimeout);
+        return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), acquireTimeout);
+    }
+
+    /**
+     * Sin DataSource con el perfil memory.
+     */
+    @Bean
+    public MeterBinder connectionLimitingDataSourceMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            if (dataSource.getIfAvailable() instanceof ConnectionLimitingDataSource limited) {
+                Gauge.builder("app.datasource.permits.available", limited, ConnectionLimitingDataSource::getAvailablePermits)
+                        .description("Conexiones que aún pueden abrirse sin esperar")
+                        .register(registry);
+                Gauge.builder("app.datasource.permits.waiting", limited, ConnectionLimitingDataSource::getWaitingThreads)
+                        .description("Hilos esperando una conexión")
+                        .register(registry);
+            }
+        };
+    }
+}
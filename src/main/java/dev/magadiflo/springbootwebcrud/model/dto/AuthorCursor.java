@@ -0,0 +1,81 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Posición de la última fila entregada en una paginación por keyset: valor de la columna de ordenamiento
+ * y el id del author, que desempata filas con el mismo valor. Viaja al cliente codificado en Base64 (token opaco).
+ *
+ * @param property,  propiedad de Author por la que se ordena
+ * @param direction, dirección del ordenamiento (se aplica también al id)
+ * @param value,     valor de la propiedad en la última fila, null si la columna era NULL
+ * @param id,        id de la última fila
+ */
+public record AuthorCursor(String property,
+                           Sort.Direction direction,
+                           String value,
+                           Long id) {
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "firstName", "lastName", "birthdate");
+
+    private static final String SEPARATOR = ":";
+
+    public static AuthorCursor of(Sort.Order order, Author lastAuthor) {
+        Object value = switch (order.getProperty()) {
+            case "firstName" -> lastAuthor.getFirstName();
+            case "lastName" -> lastAuthor.getLastName();
+            case "birthdate" -> lastAuthor.getBirthdate();
+            default -> lastAuthor.getId();
+        };
+        return new AuthorCursor(order.getProperty(), order.getDirection(), value == null ? null : value.toString(), lastAuthor.getId());
+    }
+
+    public static AuthorCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 4);
+            AuthorCursor cursor = new AuthorCursor(parts[0], Sort.Direction.fromString(parts[1]),
+                    parts.length == 4 ? parts[3] : null, Long.valueOf(parts[2]));
+            if (!SORTABLE_PROPERTIES.contains(cursor.property())) {
+                throw new IllegalArgumentException(cursor.property());
+            }
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new ApiException("El cursor de paginación no es válido", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, this.property, this.direction.name(), this.id.toString());
+        if (this.value != null) {
+            raw += SEPARATOR + this.value;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort.Order order() {
+        return new Sort.Order(this.direction, this.property);
+    }
+
+    /**
+     * @return el valor convertido al tipo de la propiedad, para compararlo en la consulta
+     */
+    public Comparable<?> typedValue() {
+        if (this.value == null) {
+            return null;
+        }
+        return switch (this.property) {
+            case "birthdate" -> LocalDate.parse(this.value);
+            case "id" -> Long.valueOf(this.value);
+            default -> this.value;
+        };
+    }
+}
@@ -0,0 +1,5 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+public record AuthorSummaryDTO(Long id,
+                               String fullName) {
+}
@@ -0,0 +1,33 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición del último book entregado en una paginación por keyset sobre el id del book. Igual que
+ * AuthorCursor, viaja al cliente codificado en Base64 (token opaco).
+ *
+ * @param bookId, id del último book de la página
+ */
+public record BookCursor(Long bookId) {
+
+    public static BookCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            BookCursor cursor = new BookCursor(Long.valueOf(decoded));
+            if (cursor.bookId() < 0) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new ApiException("El cursor de paginación no es válido", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(this.bookId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
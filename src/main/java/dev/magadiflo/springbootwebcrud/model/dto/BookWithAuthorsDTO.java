@@ -0,0 +1,13 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BookWithAuthorsDTO(Long id,
+                                 String title,
+                                 @JsonFormat(pattern = "dd/MM/yyyy") LocalDate publicationDate,
+                                 Boolean onlineAvailability,
+                                 List<AuthorSummaryDTO> authors) {
+}
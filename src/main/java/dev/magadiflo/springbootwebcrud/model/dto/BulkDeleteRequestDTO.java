@@ -0,0 +1,6 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import java.util.List;
+
+public record BulkDeleteRequestDTO(List<Long> ids) {
+}
@@ -0,0 +1,13 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import java.util.List;
+
+/**
+ * @param deleted,      registros eliminados (authors o books)
+ * @param linksDeleted, relaciones eliminadas de books_authors
+ * @param notFoundIds,  ids solicitados que no existían en la BD
+ */
+public record BulkDeleteResultDTO(int deleted,
+                                  int linksDeleted,
+                                  List<Long> notFoundIds) {
+}
@@ -0,0 +1,9 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+public record CacheStatsDTO(String name,
+                            long size,
+                            long hitCount,
+                            long missCount,
+                            double hitRate,
+                            long evictionCount) {
+}
@@ -0,0 +1,20 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * @param booksWithoutPublicationDate, books que no se incluyen en booksByPublicationYear
+ * @param authorsWithBooks,            autores con al menos un book
+ * @param reconciledAt,                última conciliación de los contadores con la BD, null si aún no se ejecutó
+ * @param lastReconciliationDrift,     diferencia que se corrigió en la última conciliación
+ */
+public record CatalogStatsDTO(long books,
+                              long onlineBooks,
+                              double onlineAvailabilityRatio,
+                              long booksWithoutPublicationDate,
+                              Map<Integer, Long> booksByPublicationYear,
+                              long authorsWithBooks,
+                              Instant reconciledAt,
+                              long lastReconciliationDrift) {
+}
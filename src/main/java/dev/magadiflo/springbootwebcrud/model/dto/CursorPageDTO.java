@@ -0,0 +1,15 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Página obtenida por keyset (cursor). No incluye el total de registros: nextCursor es el token opaco
+ * que se envía en la siguiente petición para continuar después del último registro de esta página.
+ */
+public record CursorPageDTO<T>(List<T> content,
+                               int size,
+                               boolean hasNext,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor) {
+}
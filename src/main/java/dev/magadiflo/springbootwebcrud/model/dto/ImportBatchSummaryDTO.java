@@ -0,0 +1,17 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Resumen de un lote de la importación. Solo se guardan los primeros mensajes de error de cada lote
+ * para que la respuesta no crezca con el tamaño del archivo.
+ */
+public record ImportBatchSummaryDTO(int batch,
+                                    long fromLine,
+                                    long toLine,
+                                    int accepted,
+                                    int rejected,
+                                    @JsonInclude(JsonInclude.Include.NON_EMPTY) List<String> errors) {
+}
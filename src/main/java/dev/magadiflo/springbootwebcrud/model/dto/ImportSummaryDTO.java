@@ -0,0 +1,14 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import java.util.List;
+
+/**
+ * @param totalBatches, lotes procesados
+ * @param batches,      resumen de los últimos lotes (app.import.maxBatchSummaries), para que la respuesta
+ *                      no crezca con el tamaño del archivo
+ */
+public record ImportSummaryDTO(long accepted,
+                               long rejected,
+                               int totalBatches,
+                               List<ImportBatchSummaryDTO> batches) {
+}
@@ -0,0 +1,57 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de una consulta por varios ids: content respeta el orden de los ids solicitados y missingIds
+ * lista los que no se encontraron, en lugar de fallar toda la petición.
+ */
+public record MultiGetDTO<T>(List<T> content,
+                             List<Long> missingIds) {
+
+    /**
+     * @return ids sin nulos ni repetidos, en el orden en que se solicitaron
+     */
+    public static List<Long> distinctIds(List<Long> ids, int maxIds) {
+        List<Long> distinctIds = ids == null ? List.of() : ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .stream()
+                .toList();
+        if (distinctIds.isEmpty()) {
+            throw new ApiException("Debe indicar al menos un id", HttpStatus.BAD_REQUEST);
+        }
+        if (distinctIds.size() > maxIds) {
+            throw new ApiException("Se pueden indicar como máximo %d ids por petición".formatted(maxIds), HttpStatus.BAD_REQUEST);
+        }
+        return distinctIds;
+    }
+
+    /**
+     * @param ids,   ids solicitados (ver distinctIds)
+     * @param found, registros devueltos por la consulta IN, en cualquier orden
+     */
+    public static <T> MultiGetDTO<T> of(List<Long> ids, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> foundById = found.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T value = foundById.get(id);
+            if (value == null) {
+                missingIds.add(id);
+            } else {
+                content.add(value);
+            }
+        }
+        return new MultiGetDTO<>(content, missingIds);
+    }
+}
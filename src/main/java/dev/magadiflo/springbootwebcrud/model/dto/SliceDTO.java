@@ -0,0 +1,17 @@
+package dev.magadiflo.springbootwebcrud.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Página obtenida sin COUNT(*): se consultan pageSize + 1 filas solo para saber si hay página siguiente.
+ * approximateTotal es el último total calculado en segundo plano para los mismos filtros, null si aún no
+ * está disponible o no se solicitó.
+ */
+public record SliceDTO<T>(List<T> content,
+                          int pageNumber,
+                          int size,
+                          boolean hasNext,
+                          @JsonInclude(JsonInclude.Include.NON_NULL) Long approximateTotal) {
+}
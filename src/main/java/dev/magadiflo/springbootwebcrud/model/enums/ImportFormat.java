@@ -0,0 +1,14 @@
+package dev.magadiflo.springbootwebcrud.model.enums;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    NDJSON, CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static ImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType) ? NDJSON : CSV;
+    }
+}
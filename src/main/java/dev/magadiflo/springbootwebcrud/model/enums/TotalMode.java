@@ -0,0 +1,23 @@
+package dev.magadiflo.springbootwebcrud.model.enums;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+
+/**
+ * Cómo calcular el total de registros en la búsqueda paginada de autores.
+ * EXACT: Page con COUNT(*) en cada petición.
+ * NONE: Slice sin total, solo indica si hay página siguiente.
+ * APPROXIMATE: Slice con un total cacheado que se recalcula en segundo plano.
+ */
+public enum TotalMode {
+    EXACT, NONE, APPROXIMATE;
+
+    public static TotalMode from(String value) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new ApiException("total debe ser uno de " + Arrays.toString(values()), HttpStatus.BAD_REQUEST));
+    }
+}
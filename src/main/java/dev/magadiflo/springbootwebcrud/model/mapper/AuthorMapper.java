@@ -0,0 +1,32 @@
+package dev.magadiflo.springbootwebcrud.model.mapper;
+
+import dev.magadiflo.springbootwebcrud.model.dto.RegisterAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.UpdateAuthorDTO;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+
+/**
+ * Conversión de los DTO de author a la entidad Author, escrita a mano en lugar de usar ModelMapper
+ * (que resuelve el mapeo por reflexión en cada llamada).
+ */
+public final class AuthorMapper {
+
+    private AuthorMapper() {
+    }
+
+    public static Author toAuthor(RegisterAuthorDTO registerAuthorDTO) {
+        return Author.builder()
+                .firstName(registerAuthorDTO.firstName())
+                .lastName(registerAuthorDTO.lastName())
+                .birthdate(registerAuthorDTO.birthdate())
+                .build();
+    }
+
+    public static Author toAuthor(Long authorId, UpdateAuthorDTO updateAuthorDTO) {
+        return Author.builder()
+                .id(authorId)
+                .firstName(updateAuthorDTO.firstName())
+                .lastName(updateAuthorDTO.lastName())
+                .birthdate(updateAuthorDTO.birthdate())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package dev.magadiflo.springbootwebcrud.model.mapper;
+
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorSummaryDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.BookWithAuthorsDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.RegisterBookDTO;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+
+import java.util.List;
+
+/**
+ * Conversión de los DTO de book a la entidad Book. La lista de autores no forma parte de la entidad,
+ * se registra aparte en books_authors.
+ */
+public final class BookMapper {
+
+    private BookMapper() {
+    }
+
+    public static Book toBook(RegisterBookDTO registerBookDTO) {
+        return Book.builder()
+                .title(registerBookDTO.title())
+                .publicationDate(registerBookDTO.publicationDate())
+                .onlineAvailability(registerBookDTO.onlineAvailability())
+                .build();
+    }
+
+    public static BookWithAuthorsDTO toBookWithAuthorsDTO(Book book, List<AuthorSummaryDTO> authors) {
+        return new BookWithAuthorsDTO(book.getId(), book.getTitle(), book.getPublicationDate(),
+                book.getOnlineAvailability(), authors);
+    }
+}
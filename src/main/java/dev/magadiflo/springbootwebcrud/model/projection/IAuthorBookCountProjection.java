@@ -0,0 +1,10 @@
+package dev.magadiflo.springbootwebcrud.model.projection;
+
+/**
+ * Cantidad de books de un author, para conciliar los contadores del catálogo.
+ */
+public interface IAuthorBookCountProjection {
+    Long getAuthorId();
+
+    Long getBooks();
+}
@@ -1,6 +1,7 @@
 package dev.magadiflo.springbootwebcrud.model.projection;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDate;
 
@@ -15,4 +16,10 @@ public interface IAuthorProjection {
 
     @JsonFormat(pattern = "dd/MM/yyyy")
     LocalDate getBirthdate();
+
+    /**
+     * Versión de la fila leída junto con los demás campos (ver Author.version), se usa como ETag.
+     */
+    @JsonIgnore
+    Long getVersion();
 }
@@ -0,0 +1,17 @@
+package dev.magadiflo.springbootwebcrud.model.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Una fila por cada author del book (authorId null si no tiene autores) con los datos del book que usan los
+ * contadores del catálogo, para armar los BookChangedEvent de una eliminación con una sola consulta.
+ */
+public interface IBookAuthorIdRowProjection {
+    Long getBookId();
+
+    LocalDate getPublicationDate();
+
+    Boolean getOnlineAvailability();
+
+    Long getAuthorId();
+}
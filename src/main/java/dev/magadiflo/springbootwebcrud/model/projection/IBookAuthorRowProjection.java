@@ -0,0 +1,13 @@
+package dev.magadiflo.springbootwebcrud.model.projection;
+
+/**
+ * Una fila de books_authors con los datos del author, para armar la lista de autores de varios books
+ * con una sola consulta.
+ */
+public interface IBookAuthorRowProjection {
+    Long getBookId();
+
+    Long getAuthorId();
+
+    String getFullName();
+}
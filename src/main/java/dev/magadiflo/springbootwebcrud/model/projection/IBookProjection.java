@@ -21,6 +21,12 @@ public interface IBookProjection {
     @JsonIgnore
     String getConcatAuthors();
 
+    /**
+     * Versión de la fila leída junto con los demás campos (ver Book.version), se usa como ETag.
+     */
+    @JsonIgnore
+    Long getVersion();
+
     default List<String> getAuthors() {
         if (getConcatAuthors() == null || getConcatAuthors().isEmpty()) {
             return new ArrayList<>();
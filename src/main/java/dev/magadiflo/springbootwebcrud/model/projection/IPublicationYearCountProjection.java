@@ -0,0 +1,15 @@
+package dev.magadiflo.springbootwebcrud.model.projection;
+
+/**
+ * Cantidad de books por año de publicación, para conciliar los contadores del catálogo.
+ */
+public interface IPublicationYearCountProjection {
+    /**
+     * @return null para los books sin publication_date
+     */
+    Integer getPublicationYear();
+
+    Long getBooks();
+
+    Long getOnlineBooks();
+}
@@ -0,0 +1,108 @@
+package dev.magadiflo.springbootwebcrud.persistence.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita el número de conexiones abiertas a la vez con un semáforo del mismo tamaño que el pool. Con hilos
+ * virtuales el número de peticiones concurrentes ya no está acotado por los hilos de Tomcat, así que es
+ * el pool de conexiones quien pone el límite: quien no consigue permiso en acquireTimeout recibe una
+ * SQLTransientConnectionException en lugar de quedar esperando en la cola del pool.
+ * El permiso se libera al cerrar la conexión (devolverla al pool).
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final Duration acquireTimeout;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConnections, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        this.acquire();
+        try {
+            return this.limited(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        this.acquire();
+        try {
+            return this.limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaxConnections() {
+        return this.maxConnections;
+    }
+
+    public int getAvailablePermits() {
+        return this.permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return this.permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!this.permits.tryAcquire(this.acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No hay conexiones disponibles, se esperó %d ms (máximo %d conexiones)"
+                        .formatted(this.acquireTimeout.toMillis(), this.maxConnections));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido mientras esperaba una conexión", e);
+        }
+    }
+
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            try {
+                                connection.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    this.permits.release();
+                                }
+                            }
+                            return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,63 @@
+package dev.magadiflo.springbootwebcrud.persistence.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones readOnly a una de las réplicas (round robin) y todo lo demás a la primaria.
+ * <p>
+ * La decisión se toma al obtener la conexión, por eso debe usarse detrás de un LazyConnectionDataSourceProxy:
+ * el TransactionManager pide la conexión al iniciar la transacción, antes de marcarla como readOnly, y el
+ * proxy la obtiene recién en la primera sentencia.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + (i + 1);
+            this.replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        this.setTargetDataSources(targets);
+        this.setDefaultTargetDataSource(primary);
+        this.afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.markWrite();
+        }
+
+        String key = !readOnly || this.replicaKeys.isEmpty() || ReadYourWrites.isPrimaryRequired() ?
+                PRIMARY : this.replicaKeys.get(Math.floorMod(this.next.getAndIncrement(), this.replicaKeys.size()));
+        log.trace("Conexión de {}", key);
+        return key;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : this.getResolvedDataSources().values()) {
+            if (dataSource.isWrapperFor(AutoCloseable.class)) {
+                dataSource.unwrap(AutoCloseable.class).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package dev.magadiflo.springbootwebcrud.persistence.datasource;
+
+/**
+ * Estado por petición (hilo) para leer lo que uno mismo escribió: si la petición ya escribió en la BD primaria,
+ * o si el cliente escribió hace poco (ver ReadYourWritesFilter), las transacciones readOnly también van a la
+ * primaria en lugar de a una réplica que podría no tener aún esos cambios.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * @param primaryRequired, true si las lecturas de esta petición deben ir a la primaria
+     * @param onFirstWrite,    se ejecuta la primera vez que la petición abre una transacción de escritura
+     */
+    public static void begin(boolean primaryRequired, Runnable onFirstWrite) {
+        STATE.set(new State(primaryRequired, onFirstWrite));
+    }
+
+    public static void end() {
+        STATE.remove();
+    }
+
+    public static boolean isPrimaryRequired() {
+        State state = STATE.get();
+        return state != null && state.primaryRequired;
+    }
+
+    /**
+     * Indica que la petición escribió en la primaria. Lo llama ReadWriteRoutingDataSource al abrir una
+     * transacción de escritura, o quien escribe en nombre de la petición desde otro hilo (ver AuthorGroupCommitter).
+     */
+    public static void markWrite() {
+        State state = STATE.get();
+        if (state != null && !state.written) {
+            state.written = true;
+            state.primaryRequired = true;
+            state.onFirstWrite.run();
+        }
+    }
+
+    private static final class State {
+        private final Runnable onFirstWrite;
+        private boolean primaryRequired;
+        private boolean written;
+
+        private State(boolean primaryRequired, Runnable onFirstWrite) {
+            this.primaryRequired = primaryRequired;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+}
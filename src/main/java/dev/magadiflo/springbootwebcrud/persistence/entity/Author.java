@@ -1,14 +1,17 @@
 package dev.magadiflo.springbootwebcrud.persistence.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -25,4 +28,11 @@ public class Author {
     private String firstName;
     private String lastName;
     private LocalDate birthdate;
+    /**
+     * Se incrementa en cada escritura (también en las sentencias nativas), se usa como ETag.
+     */
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 }
@@ -1,14 +1,17 @@
 package dev.magadiflo.springbootwebcrud.persistence.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -26,4 +29,12 @@ public class Book {
     private LocalDate publicationDate;
     @Builder.Default
     private Boolean onlineAvailability = false;
+    /**
+     * Se incrementa en cada escritura y cuando cambian sus autores (relaciones eliminadas o nombres
+     * actualizados), ya que forman parte de su representación. Se usa como ETag.
+     */
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    private Long version;
 }
@@ -0,0 +1,351 @@
+package dev.magadiflo.springbootwebcrud.persistence.memory;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Evalúa en memoria las Specification del proyecto (AuthorSpecs, AuthorSpecification). En lugar del
+ * CriteriaBuilder de Hibernate, toPredicate recibe uno que arma las condiciones como funciones sobre las filas,
+ * con la misma semántica que la consulta en MySQL:
+ * <ul>
+ *     <li>Lógica de tres valores: una comparación con NULL no se cumple, ni negada.</li>
+ *     <li>Textos comparados como en una collation *_ai_ci (sin distinguir mayúsculas ni tildes), también en LIKE.</li>
+ *     <li>NULL va primero en orden ascendente y al final en descendente.</li>
+ * </ul>
+ * Soporta las operaciones que usan las Specification del proyecto: like, equal, comparaciones, isNull, in,
+ * and, or, not, conjunction y disjunction. Cualquier otra lanza InvalidDataAccessApiUsageException.
+ *
+ * @param <T> entidad de las filas
+ */
+public final class CriteriaEvaluator<T> {
+
+    private static final String ID = "id";
+
+    private final Map<String, Function<T, ?>> properties;
+
+    /**
+     * @param properties, propiedad de la entidad -> cómo leerla de la fila
+     */
+    public CriteriaEvaluator(Map<String, Function<T, ?>> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return condición equivalente al WHERE de la Specification, se cumple para todas las filas si es null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate<T> toFilter(Specification<?> specification) {
+        if (specification == null) {
+            return row -> true;
+        }
+        Root<?> root = this.proxy(Root.class, null, true);
+        CriteriaQuery<?> query = this.proxy(CriteriaQuery.class, null, false);
+        CriteriaBuilder criteriaBuilder = (CriteriaBuilder) Proxy.newProxyInstance(CriteriaBuilder.class.getClassLoader(),
+                new Class<?>[]{CriteriaBuilder.class}, new CriteriaBuilderHandler());
+
+        Object predicate = ((Specification) specification).toPredicate(root, query, criteriaBuilder);
+        if (predicate == null) {
+            return row -> true;
+        }
+        Function<T, Object> condition = this.valueOf(predicate);
+        return row -> Boolean.TRUE.equals(condition.apply(row));
+    }
+
+    /**
+     * @return comparador equivalente al ORDER BY, null si el Sort no tiene órdenes
+     */
+    public Comparator<T> toComparator(Sort sort) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<T, ?> property = this.property(order.getProperty());
+            Comparator<T> byProperty = Comparator.comparing(row -> (Object) property.apply(row),
+                    Comparator.nullsFirst(CriteriaEvaluator::compareValues));
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        return comparator;
+    }
+
+    /**
+     * Filas que cumplen el filtro, en el orden del Sort. Las tablas de MemoryStore ya están ordenadas por id,
+     * así que sin orden o con orden solo por id no se ordena nada.
+     *
+     * @param byIdAscending,  filas ordenadas por id
+     * @param byIdDescending, filas ordenadas por id de mayor a menor
+     */
+    public Stream<T> select(Collection<T> byIdAscending, Collection<T> byIdDescending, Predicate<T> filter, Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return byIdAscending.stream().filter(filter);
+        }
+        if (orders.size() == 1 && ID.equals(orders.get(0).getProperty())) {
+            return (orders.get(0).isAscending() ? byIdAscending : byIdDescending).stream().filter(filter);
+        }
+        return byIdAscending.stream().filter(filter).sorted(this.toComparator(sort));
+    }
+
+    private Function<T, ?> property(String name) {
+        Function<T, ?> property = this.properties.get(name);
+        if (property == null) {
+            throw new InvalidDataAccessApiUsageException("La propiedad %s no existe en el motor en memoria".formatted(name));
+        }
+        return property;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<T, Object> valueOf(Object argument) {
+        if (argument != null && Proxy.isProxyClass(argument.getClass())
+            && Proxy.getInvocationHandler(argument) instanceof CriteriaEvaluator<?>.ExpressionHandler handler) {
+            return ((ExpressionHandler) handler).value;
+        }
+        return row -> argument;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <P> P proxy(Class<P> type, Function<T, Object> value, boolean root) {
+        return (P) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new ExpressionHandler(value, root));
+    }
+
+    private static InvalidDataAccessApiUsageException unsupported(Method method) {
+        return new InvalidDataAccessApiUsageException("El motor en memoria no soporta %s.%s"
+                .formatted(method.getDeclaringClass().getSimpleName(), method.getName()));
+    }
+
+    /**
+     * Root, Path, Expression y Predicate: value lee el valor de la expresión para una fila (Boolean o null en
+     * los Predicate).
+     */
+    private final class ExpressionHandler implements InvocationHandler {
+        private final Function<T, Object> value;
+        private final boolean root;
+
+        private ExpressionHandler(Function<T, Object> value, boolean root) {
+            this.value = value;
+            this.root = root;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "get" -> {
+                    if (!this.root || !(args[0] instanceof String name)) {
+                        throw unsupported(method);
+                    }
+                    Function<T, ?> property = CriteriaEvaluator.this.property(name);
+                    yield CriteriaEvaluator.this.proxy(method.getReturnType(), property::apply, false);
+                }
+                case "in" -> {
+                    Set<Object> values = new HashSet<>(args[0] instanceof Collection<?> collection ? collection : Arrays.asList((Object[]) args[0]));
+                    yield this.condition(method, row -> {
+                        Object current = this.value.apply(row);
+                        return current == null ? null : values.contains(current);
+                    });
+                }
+                case "isNull" -> this.condition(method, row -> this.value.apply(row) == null);
+                case "isNotNull" -> this.condition(method, row -> this.value.apply(row) != null);
+                case "not" -> this.condition(method, row -> not(this.value.apply(row)));
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "CriteriaEvaluator." + method.getDeclaringClass().getSimpleName();
+                default -> throw unsupported(method);
+            };
+        }
+
+        private Object condition(Method method, Function<T, Object> condition) {
+            if (this.root) {
+                throw unsupported(method);
+            }
+            return CriteriaEvaluator.this.proxy(method.getReturnType(), condition, false);
+        }
+    }
+
+    private final class CriteriaBuilderHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CriteriaEvaluator.CriteriaBuilder";
+            }
+
+            Function<T, Object> condition = switch (method.getName()) {
+                case "like" -> like(args, false);
+                case "notLike" -> like(args, true);
+                case "equal" -> this.compare(args, result -> result == 0);
+                case "notEqual" -> this.compare(args, result -> result != 0);
+                case "greaterThan", "gt" -> this.compare(args, result -> result > 0);
+                case "greaterThanOrEqualTo", "ge" -> this.compare(args, result -> result >= 0);
+                case "lessThan", "lt" -> this.compare(args, result -> result < 0);
+                case "lessThanOrEqualTo", "le" -> this.compare(args, result -> result <= 0);
+                case "isNull" -> {
+                    Function<T, Object> value = valueOf(args[0]);
+                    yield row -> value.apply(row) == null;
+                }
+                case "isNotNull" -> {
+                    Function<T, Object> value = valueOf(args[0]);
+                    yield row -> value.apply(row) != null;
+                }
+                case "not" -> {
+                    Function<T, Object> value = valueOf(args[0]);
+                    yield row -> not(value.apply(row));
+                }
+                case "and" -> this.junction(args, false);
+                case "or" -> this.junction(args, true);
+                case "conjunction" -> row -> true;
+                case "disjunction" -> row -> false;
+                default -> throw unsupported(method);
+            };
+            return CriteriaEvaluator.this.proxy(method.getReturnType(), condition, false);
+        }
+
+        private Function<T, Object> like(Object[] args, boolean negated) {
+            if (!(args[1] instanceof String pattern) || args.length > 2) {
+                throw new InvalidDataAccessApiUsageException("El motor en memoria solo soporta LIKE con un patrón literal");
+            }
+            Function<T, Object> value = valueOf(args[0]);
+            Pattern regex = likeToRegex(fold(pattern));
+            return row -> {
+                Object current = value.apply(row);
+                if (current == null) {
+                    return null;
+                }
+                return regex.matcher(fold(current.toString())).matches() != negated;
+            };
+        }
+
+        private Function<T, Object> compare(Object[] args, Predicate<Integer> test) {
+            Function<T, Object> left = valueOf(args[0]);
+            Function<T, Object> right = valueOf(args[1]);
+            return row -> {
+                Object leftValue = left.apply(row);
+                Object rightValue = right.apply(row);
+                if (leftValue == null || rightValue == null) {
+                    return null;
+                }
+                return test.test(compareValues(leftValue, rightValue));
+            };
+        }
+
+        /**
+         * AND: falso si alguna es falsa, si no NULL si alguna es NULL. OR: verdadero si alguna es verdadera,
+         * si no NULL si alguna es NULL.
+         */
+        private Function<T, Object> junction(Object[] args, boolean or) {
+            Object[] restrictions = args.length == 1 && args[0] instanceof Object[] array ? array : args;
+            List<Function<T, Object>> conditions = new ArrayList<>(restrictions.length);
+            for (Object restriction : restrictions) {
+                conditions.add(valueOf(restriction));
+            }
+            Boolean decisive = or;
+            return row -> {
+                boolean unknown = false;
+                for (Function<T, Object> condition : conditions) {
+                    Object result = condition.apply(row);
+                    if (decisive.equals(result)) {
+                        return decisive;
+                    }
+                    unknown |= result == null;
+                }
+                return unknown ? null : !decisive;
+            };
+        }
+    }
+
+    private static Object not(Object value) {
+        return value == null ? null : !((Boolean) value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareValues(Object left, Object right) {
+        if (left instanceof String leftText && right instanceof String rightText) {
+            if (isAscii(leftText) && isAscii(rightText)) {
+                return String.CASE_INSENSITIVE_ORDER.compare(leftText, rightText);
+            }
+            return fold(leftText).compareTo(fold(rightText));
+        }
+        if (left instanceof Number leftNumber && right instanceof Number rightNumber) {
+            return new BigDecimal(leftNumber.toString()).compareTo(new BigDecimal(rightNumber.toString()));
+        }
+        if (left instanceof Comparable comparable && Objects.equals(left.getClass(), right.getClass())) {
+            return comparable.compareTo(right);
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    /**
+     * Minúsculas y sin marcas diacríticas, aproximando una collation *_ai_ci.
+     */
+    private static String fold(String value) {
+        if (isAscii(value)) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(Character.toLowerCase(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * % y _ son comodines y \ escapa el carácter siguiente, como en MySQL.
+     */
+    private static Pattern likeToRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
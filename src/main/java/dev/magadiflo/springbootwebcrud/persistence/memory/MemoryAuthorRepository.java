@@ -0,0 +1,222 @@
+package dev.magadiflo.springbootwebcrud.persistence.memory;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static dev.magadiflo.springbootwebcrud.persistence.memory.MemoryStore.distinct;
+
+/**
+ * IAuthorRepository sobre MemoryStore, con los mismos resultados que las consultas nativas. Igual que con
+ * JPA, las consultas con Specification devuelven entidades Author (copias de las filas).
+ */
+@RequiredArgsConstructor
+public class MemoryAuthorRepository implements IAuthorRepository {
+
+    private static final CriteriaEvaluator<Author> CRITERIA = new CriteriaEvaluator<>(Map.of(
+            "id", Author::getId,
+            "firstName", Author::getFirstName,
+            "lastName", Author::getLastName,
+            "birthdate", Author::getBirthdate,
+            "version", Author::getVersion));
+
+    private final MemoryStore store;
+
+    @Override
+    public Integer countAuthorsByIds(List<Long> ids) {
+        return this.findExistingAuthorIds(ids).size();
+    }
+
+    @Override
+    public List<Long> findExistingAuthorIds(List<Long> ids) {
+        return distinct(ids).stream()
+                .filter(id -> this.store.findAuthor(id).isPresent())
+                .toList();
+    }
+
+    @Override
+    public Optional<IAuthorProjection> findAuthorById(Long id) {
+        return this.store.findAuthor(id).map(MemoryProjections::author);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return this.store.findAuthor(id).map(Author::getVersion);
+    }
+
+    @Override
+    public Optional<Long> findMaxId() {
+        return this.store.authorsDescending().stream().findFirst().map(Author::getId);
+    }
+
+    @Override
+    public List<IAuthorProjection> findAuthorsByIds(List<Long> ids) {
+        return distinct(ids).stream()
+                .map(this.store::findAuthor)
+                .flatMap(Optional::stream)
+                .map(MemoryProjections::author)
+                .toList();
+    }
+
+    @Override
+    public Integer saveAuthor(Author author) {
+        this.store.insertAuthor(author);
+        return 1;
+    }
+
+    @Override
+    public Integer updateAuthor(Author author) {
+        return this.store.updateAuthor(author.getId(), row -> {
+            row.setFirstName(author.getFirstName());
+            row.setLastName(author.getLastName());
+            row.setBirthdate(author.getBirthdate());
+            return row;
+        }) ? 1 : 0;
+    }
+
+    @Override
+    public Integer patchAuthor(Author author) {
+        return this.store.updateAuthor(author.getId(), row -> {
+            row.setFirstName(Objects.requireNonNullElse(author.getFirstName(), row.getFirstName()));
+            row.setLastName(Objects.requireNonNullElse(author.getLastName(), row.getLastName()));
+            row.setBirthdate(Objects.requireNonNullElse(author.getBirthdate(), row.getBirthdate()));
+            return row;
+        }) ? 1 : 0;
+    }
+
+    @Override
+    public Integer deleteAuthorById(Long id) {
+        return this.store.deleteAuthor(id) ? 1 : 0;
+    }
+
+    @Override
+    public Integer deleteAuthorsByIds(List<Long> ids) {
+        return (int) distinct(ids).stream().filter(this.store::deleteAuthor).count();
+    }
+
+    //----------- IAuthorRepositoryCustom ------------------------------------------------------------------------------
+    @Override
+    public List<Long> insertAuthors(List<Author> authors) {
+        List<Long> ids = new ArrayList<>(authors.size());
+        for (Author author : authors) {
+            Long id = this.store.insertAuthor(author).getId();
+            author.setId(id);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Sin cursor de BD: recorre la tabla ordenada por id, fetchSize no aplica.
+     */
+    @Override
+    public Stream<Author> streamAll(Specification<IAuthorProjection> specification, int fetchSize) {
+        return this.select(specification, Sort.unsorted());
+    }
+
+    @Override
+    public List<Author> findAllWithoutCount(Specification<IAuthorProjection> specification, Sort sort, long offset, int limit) {
+        return this.select(specification, sort).skip(offset).limit(limit).toList();
+    }
+
+    //----------- JpaSpecificationExecutor -----------------------------------------------------------------------------
+    @Override
+    public Optional<IAuthorProjection> findOne(Specification<IAuthorProjection> specification) {
+        List<IAuthorProjection> authors = this.findAll(specification);
+        if (authors.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, authors.size());
+        }
+        return authors.stream().findFirst();
+    }
+
+    @Override
+    public List<IAuthorProjection> findAll(Specification<IAuthorProjection> specification) {
+        return this.findAll(specification, Sort.unsorted());
+    }
+
+    @Override
+    public Page<IAuthorProjection> findAll(Specification<IAuthorProjection> specification, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(this.findAll(specification, pageable.getSort()));
+        }
+        List<IAuthorProjection> content = asProjections(this.findAllWithoutCount(specification, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize()));
+        return new PageImpl<>(content, pageable, this.count(specification));
+    }
+
+    @Override
+    public List<IAuthorProjection> findAll(Specification<IAuthorProjection> specification, Sort sort) {
+        return asProjections(this.select(specification, sort).toList());
+    }
+
+    @Override
+    public long count(Specification<IAuthorProjection> specification) {
+        Predicate<Author> filter = CRITERIA.toFilter(specification);
+        return this.store.authors().stream().filter(filter).count();
+    }
+
+    @Override
+    public boolean exists(Specification<IAuthorProjection> specification) {
+        Predicate<Author> filter = CRITERIA.toFilter(specification);
+        return this.store.authors().stream().anyMatch(filter);
+    }
+
+    @Override
+    public long delete(Specification<IAuthorProjection> specification) {
+        List<Long> ids = this.select(specification, Sort.unsorted()).map(Author::getId).toList();
+        return this.deleteAuthorsByIds(ids);
+    }
+
+    @Override
+    public <S extends IAuthorProjection, R> R findBy(Specification<IAuthorProjection> specification,
+                                                     Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new InvalidDataAccessApiUsageException("El motor en memoria no soporta findBy con FluentQuery");
+    }
+
+    //----------- PagingAndSortingRepository ---------------------------------------------------------------------------
+    @Override
+    public Iterable<Author> findAll(Sort sort) {
+        return this.select(null, sort).toList();
+    }
+
+    @Override
+    public Page<Author> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(this.select(null, pageable.getSort()).toList());
+        }
+        List<Author> content = this.findAllWithoutCount(null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, this.store.authors().size());
+    }
+
+    private Stream<Author> select(Specification<IAuthorProjection> specification, Sort sort) {
+        return CRITERIA.select(this.store.authors(), this.store.authorsDescending(), CRITERIA.toFilter(specification), sort)
+                .map(MemoryStore::copy);
+    }
+
+    /**
+     * Mismo cast que hace Spring Data JPA: el JpaSpecificationExecutor está tipado con IAuthorProjection pero
+     * devuelve entidades Author.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<IAuthorProjection> asProjections(List<Author> authors) {
+        return (List) authors;
+    }
+}
@@ -0,0 +1,250 @@
+package dev.magadiflo.springbootwebcrud.persistence.memory;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorBookCountProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorRowProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.entity.BookAuthor;
+import dev.magadiflo.springbootwebcrud.persistence.entity.BookAuthorPK;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static dev.magadiflo.springbootwebcrud.persistence.memory.MemoryStore.distinct;
+
+/**
+ * IBookAuthorRepository sobre los índices de adyacencia de MemoryStore: las consultas por book o por author
+ * recorren solo sus relaciones, igual que las consultas nativas con los índices de books_authors.
+ */
+@RequiredArgsConstructor
+public class MemoryBookAuthorRepository implements IBookAuthorRepository {
+
+    private final MemoryStore store;
+
+    @Override
+    public Optional<IBookProjection> findBookAuthorByBookId(Long id) {
+        return this.store.findBook(id).flatMap(book -> {
+            List<Author> authors = this.authorsOfBook(book.getId());
+            return authors.isEmpty() ? Optional.empty() : Optional.of(MemoryProjections.book(book, authors));
+        });
+    }
+
+    @Override
+    public List<IBookProjection> findBookAuthorsByBookIds(List<Long> ids) {
+        return distinct(ids).stream()
+                .map(this::findBookAuthorByBookId)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public List<IBookAuthorRowProjection> findAuthorRowsByBookIds(List<Long> ids) {
+        return distinct(ids).stream()
+                .sorted()
+                .flatMap(bookId -> this.authorsOfBook(bookId).stream().map(author -> MemoryProjections.bookAuthorRow(bookId, author)))
+                .toList();
+    }
+
+    @Override
+    public List<Long> findBookIdsByAuthorId(Long id) {
+        return List.copyOf(this.store.bookIdsOfAuthor(id));
+    }
+
+    @Override
+    public List<Long> findBookIdsByAuthorIdAfter(Long authorId, Long afterBookId, int limit) {
+        return this.store.bookIdsOfAuthor(authorId).tailSet(afterBookId, false).stream()
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Long> findBookIdsByAuthorIds(List<Long> ids) {
+        return distinct(ids).stream()
+                .flatMap(authorId -> this.store.bookIdsOfAuthor(authorId).stream())
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public List<IAuthorBookCountProjection> countBooksByAuthor() {
+        return this.store.linkedAuthorIds().stream()
+                .map(authorId -> MemoryProjections.authorBookCount(authorId, this.store.bookIdsOfAuthor(authorId).size()))
+                .filter(count -> count.getBooks() > 0)
+                .toList();
+    }
+
+    @Override
+    public Long touchCatalogTables() {
+        return 0L;
+    }
+
+    @Override
+    public Optional<Boolean> existsBookAuthorByBookId(Long id) {
+        return Optional.of(!this.store.authorIdsOfBook(id).isEmpty());
+    }
+
+    @Override
+    public Optional<Boolean> existsBookAuthorByAuthorId(Long id) {
+        return Optional.of(!this.store.bookIdsOfAuthor(id).isEmpty());
+    }
+
+    /**
+     * Igual que el INSERT ... SELECT, solo relaciona los autores que existen.
+     */
+    @Override
+    public Integer saveBookAuthors(Long bookId, List<Long> authorIds) {
+        int affectedRows = 0;
+        for (Long authorId : distinct(authorIds)) {
+            if (this.store.findAuthor(authorId).isPresent()) {
+                this.store.link(bookId, authorId);
+                affectedRows++;
+            }
+        }
+        return affectedRows;
+    }
+
+    /**
+     * Igual que la FK, link() lanza DataIntegrityViolationException si el book o el author no existen.
+     */
+    @Override
+    public int insertBookAuthors(Map<Long, List<Long>> authorIdsByBookId) {
+        int affectedRows = 0;
+        for (Map.Entry<Long, List<Long>> entry : authorIdsByBookId.entrySet()) {
+            for (Long authorId : distinct(entry.getValue())) {
+                this.store.link(entry.getKey(), authorId);
+                affectedRows++;
+            }
+        }
+        return affectedRows;
+    }
+
+    @Override
+    public Integer deleteBookAuthorByBookId(Long id) {
+        return this.deleteBookAuthorsByBookIds(List.of(id));
+    }
+
+    @Override
+    public Integer deleteBookAuthorByAuthorId(Long id) {
+        return this.deleteBookAuthorsByAuthorIds(List.of(id));
+    }
+
+    @Override
+    public Integer deleteBookAuthorsByBookIds(List<Long> ids) {
+        int affectedRows = 0;
+        for (Long bookId : distinct(ids)) {
+            for (Long authorId : List.copyOf(this.store.authorIdsOfBook(bookId))) {
+                affectedRows += this.store.unlink(bookId, authorId) ? 1 : 0;
+            }
+        }
+        return affectedRows;
+    }
+
+    @Override
+    public Integer deleteBookAuthorsByAuthorIds(List<Long> ids) {
+        int affectedRows = 0;
+        for (Long authorId : distinct(ids)) {
+            for (Long bookId : List.copyOf(this.store.bookIdsOfAuthor(authorId))) {
+                affectedRows += this.store.unlink(bookId, authorId) ? 1 : 0;
+            }
+        }
+        return affectedRows;
+    }
+
+    //----------- CrudRepository ---------------------------------------------------------------------------------------
+    @Override
+    public <S extends BookAuthor> S save(S entity) {
+        this.store.link(entity.getId().getBook().getId(), entity.getId().getAuthor().getId());
+        return entity;
+    }
+
+    @Override
+    public <S extends BookAuthor> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(this.save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<BookAuthor> findById(BookAuthorPK id) {
+        Long bookId = id.getBook().getId();
+        Long authorId = id.getAuthor().getId();
+        if (!this.store.authorIdsOfBook(bookId).contains(authorId)) {
+            return Optional.empty();
+        }
+        return Optional.of(this.bookAuthor(bookId, authorId));
+    }
+
+    @Override
+    public boolean existsById(BookAuthorPK id) {
+        return this.store.authorIdsOfBook(id.getBook().getId()).contains(id.getAuthor().getId());
+    }
+
+    @Override
+    public Iterable<BookAuthor> findAll() {
+        return this.links().toList();
+    }
+
+    @Override
+    public Iterable<BookAuthor> findAllById(Iterable<BookAuthorPK> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(this::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return this.store.countLinks();
+    }
+
+    @Override
+    public void deleteById(BookAuthorPK id) {
+        this.store.unlink(id.getBook().getId(), id.getAuthor().getId());
+    }
+
+    @Override
+    public void delete(BookAuthor entity) {
+        this.deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends BookAuthorPK> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends BookAuthor> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        this.deleteBookAuthorsByBookIds(List.copyOf(this.store.linkedBookIds()));
+    }
+
+    /**
+     * @return autores del book ordenados por id
+     */
+    private List<Author> authorsOfBook(Long bookId) {
+        return this.store.authorIdsOfBook(bookId).stream()
+                .map(this.store::findAuthor)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private Stream<BookAuthor> links() {
+        return this.store.linkedBookIds().stream()
+                .flatMap(bookId -> this.store.authorIdsOfBook(bookId).stream().map(authorId -> this.bookAuthor(bookId, authorId)));
+    }
+
+    private BookAuthor bookAuthor(Long bookId, Long authorId) {
+        return new BookAuthor(new BookAuthorPK(this.store.findBook(bookId).map(MemoryStore::copy).orElse(null),
+                this.store.findAuthor(authorId).map(MemoryStore::copy).orElse(null)));
+    }
+}
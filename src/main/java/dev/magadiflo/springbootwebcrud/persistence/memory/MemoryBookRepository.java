@@ -0,0 +1,216 @@
+package dev.magadiflo.springbootwebcrud.persistence.memory;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorIdRowProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IPublicationYearCountProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static dev.magadiflo.springbootwebcrud.persistence.memory.MemoryStore.distinct;
+
+/**
+ * IBookRepository sobre MemoryStore, con los mismos resultados que las consultas nativas.
+ */
+@RequiredArgsConstructor
+public class MemoryBookRepository implements IBookRepository {
+
+    private static final CriteriaEvaluator<Book> CRITERIA = new CriteriaEvaluator<>(Map.of(
+            "id", Book::getId,
+            "title", Book::getTitle,
+            "publicationDate", Book::getPublicationDate,
+            "onlineAvailability", Book::getOnlineAvailability,
+            "version", Book::getVersion));
+
+    private final MemoryStore store;
+
+    @Override
+    public Slice<Book> findAllBy(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(this.select(pageable.getSort()).toList());
+        }
+        List<Book> books = this.select(pageable.getSort())
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .toList();
+        boolean hasNext = books.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? books.subList(0, pageable.getPageSize()) : books, pageable, hasNext);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return this.store.findBook(id).map(Book::getVersion);
+    }
+
+    @Override
+    public Integer incrementVersionOfBooksByAuthorIds(List<Long> authorIds) {
+        return (int) distinct(authorIds).stream()
+                .flatMap(authorId -> this.store.bookIdsOfAuthor(authorId).stream())
+                .distinct()
+                .filter(bookId -> this.store.updateBook(bookId, book -> book))
+                .count();
+    }
+
+    /**
+     * Sin bloqueo: MemoryStore no tiene transacciones.
+     */
+    @Override
+    public List<IBookAuthorIdRowProjection> findBooksToDeleteForUpdate(List<Long> ids) {
+        return distinct(ids).stream()
+                .sorted()
+                .map(this.store::findBook)
+                .flatMap(Optional::stream)
+                .flatMap(book -> {
+                    Set<Long> authorIds = this.store.authorIdsOfBook(book.getId());
+                    if (authorIds.isEmpty()) {
+                        return Stream.of(MemoryProjections.bookAuthorIdRow(book, null));
+                    }
+                    return authorIds.stream().map(authorId -> MemoryProjections.bookAuthorIdRow(book, authorId));
+                })
+                .toList();
+    }
+
+    @Override
+    public Integer deleteBooksByIds(List<Long> ids) {
+        return (int) distinct(ids).stream().filter(this.store::deleteBook).count();
+    }
+
+    //----------- IBookRepositoryCustom -------------------------------------------------------------------------------
+    @Override
+    public List<Long> insertBooks(List<Book> books) {
+        List<Long> ids = new ArrayList<>(books.size());
+        for (Book book : books) {
+            Long id = this.store.insertBook(book).getId();
+            book.setId(id);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * GROUP BY YEAR(publication_date): los books sin fecha se agrupan con el año null.
+     */
+    @Override
+    public List<IPublicationYearCountProjection> countBooksByPublicationYear() {
+        Map<Integer, long[]> countsByYear = new HashMap<>();
+        for (Book book : this.store.books()) {
+            Integer year = book.getPublicationDate() == null ? null : book.getPublicationDate().getYear();
+            long[] counts = countsByYear.computeIfAbsent(year, key -> new long[2]);
+            counts[0]++;
+            if (Boolean.TRUE.equals(book.getOnlineAvailability())) {
+                counts[1]++;
+            }
+        }
+        return countsByYear.entrySet().stream()
+                .map(entry -> MemoryProjections.publicationYearCount(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .toList();
+    }
+
+    //----------- PagingAndSortingRepository / CrudRepository ----------------------------------------------------------
+    @Override
+    public Iterable<Book> findAll(Sort sort) {
+        return this.select(sort).toList();
+    }
+
+    @Override
+    public Page<Book> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(this.select(pageable.getSort()).toList());
+        }
+        List<Book> content = this.select(pageable.getSort()).skip(pageable.getOffset()).limit(pageable.getPageSize()).toList();
+        return new PageImpl<>(content, pageable, this.count());
+    }
+
+    /**
+     * Con id registra un book nuevo si no existe, como hace merge() con una entidad que no está en la BD.
+     */
+    @Override
+    public <S extends Book> S save(S entity) {
+        if (entity.getId() != null && this.store.updateBook(entity.getId(), book -> MemoryStore.copy(entity))) {
+            entity.setVersion(this.store.findBook(entity.getId()).map(Book::getVersion).orElse(null));
+            return entity;
+        }
+        Book inserted = this.store.insertBook(entity);
+        entity.setId(inserted.getId());
+        entity.setVersion(inserted.getVersion());
+        return entity;
+    }
+
+    @Override
+    public <S extends Book> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(this.save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<Book> findById(Long id) {
+        return this.store.findBook(id).map(MemoryStore::copy);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return this.store.findBook(id).isPresent();
+    }
+
+    @Override
+    public Iterable<Book> findAll() {
+        return this.select(Sort.unsorted()).toList();
+    }
+
+    @Override
+    public Iterable<Book> findAllById(Iterable<Long> ids) {
+        return distinct(StreamSupport.stream(ids.spliterator(), false).toList()).stream()
+                .map(this::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return this.store.books().size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        this.store.deleteBook(id);
+    }
+
+    @Override
+    public void delete(Book entity) {
+        this.store.deleteBook(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this.store::deleteBook);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Book> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        this.store.books().stream().map(Book::getId).toList().forEach(this.store::deleteBook);
+    }
+
+    private Stream<Book> select(Sort sort) {
+        return CRITERIA.select(this.store.books(), this.store.booksDescending(), book -> true, sort).map(MemoryStore::copy);
+    }
+}
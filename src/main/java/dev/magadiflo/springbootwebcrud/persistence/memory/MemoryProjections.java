@@ -0,0 +1,122 @@
+package dev.magadiflo.springbootwebcrud.persistence.memory;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorBookCountProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorIdRowProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorRowProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IPublicationYearCountProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Implementaciones de las proyecciones que devuelven las consultas nativas, armadas a partir de las filas
+ * de MemoryStore con las mismas reglas de MySQL: CONCAT devuelve NULL si alguna parte es NULL y GROUP_CONCAT
+ * omite los NULL (y devuelve NULL si no queda ninguno). Los campos siguen el orden en que se serializan las
+ * proyecciones de Spring Data, para que el JSON sea el mismo.
+ */
+final class MemoryProjections {
+
+    private MemoryProjections() {
+    }
+
+    static IAuthorProjection author(Author author) {
+        return new AuthorView(author.getId(), fullName(author), author.getFirstName(), author.getLastName(), author.getBirthdate(),
+                author.getVersion());
+    }
+
+    /**
+     * @param authors, autores del book ordenados por id
+     */
+    static IBookProjection book(Book book, Collection<Author> authors) {
+        String concatAuthors = authors.stream()
+                .map(MemoryProjections::fullName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.collectingAndThen(Collectors.joining(", "), joined -> joined.isEmpty() ? null : joined));
+        return new BookView(book.getId(), book.getOnlineAvailability(), book.getTitle(), book.getPublicationDate(), concatAuthors,
+                book.getVersion());
+    }
+
+    static IBookAuthorRowProjection bookAuthorRow(Long bookId, Author author) {
+        return new BookAuthorRowView(bookId, author.getId(), fullName(author));
+    }
+
+    /**
+     * @param authorId, null si el book no tiene autores (LEFT JOIN)
+     */
+    static IBookAuthorIdRowProjection bookAuthorIdRow(Book book, Long authorId) {
+        return new BookAuthorIdRowView(book.getId(), book.getPublicationDate(), book.getOnlineAvailability(), authorId);
+    }
+
+    static IPublicationYearCountProjection publicationYearCount(Integer publicationYear, long books, long onlineBooks) {
+        return new PublicationYearCountView(publicationYear, books, onlineBooks);
+    }
+
+    static IAuthorBookCountProjection authorBookCount(Long authorId, long books) {
+        return new AuthorBookCountView(authorId, books);
+    }
+
+    /**
+     * CONCAT(a.first_name, ' ', a.last_name)
+     */
+    private static String fullName(Author author) {
+        if (author.getFirstName() == null || author.getLastName() == null) {
+            return null;
+        }
+        return author.getFirstName() + " " + author.getLastName();
+    }
+
+    @Value
+    static class AuthorView implements IAuthorProjection {
+        Long id;
+        String fullName;
+        String firstName;
+        String lastName;
+        LocalDate birthdate;
+        Long version;
+    }
+
+    @Value
+    static class BookView implements IBookProjection {
+        Long id;
+        Boolean onlineAvailability;
+        String title;
+        LocalDate publicationDate;
+        String concatAuthors;
+        Long version;
+    }
+
+    @Value
+    static class BookAuthorRowView implements IBookAuthorRowProjection {
+        Long bookId;
+        Long authorId;
+        String fullName;
+    }
+
+    @Value
+    static class BookAuthorIdRowView implements IBookAuthorIdRowProjection {
+        Long bookId;
+        LocalDate publicationDate;
+        Boolean onlineAvailability;
+        Long authorId;
+    }
+
+    @Value
+    static class PublicationYearCountView implements IPublicationYearCountProjection {
+        Integer publicationYear;
+        Long books;
+        Long onlineBooks;
+    }
+
+    @Value
+    static class AuthorBookCountView implements IAuthorBookCountProjection {
+        Long authorId;
+        Long books;
+    }
+}
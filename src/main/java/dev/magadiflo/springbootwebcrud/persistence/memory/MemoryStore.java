@@ -0,0 +1,336 @@
+package dev.magadiflo.springbootwebcrud.persistence.memory;
+
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Tablas del motor de almacenamiento en memoria (perfil memory): authors y books por su id, ordenados como
+ * la PK, y books_authors como dos índices de adyacencia, book -> autores y author -> books.
+ * <p>
+ * Las lecturas no toman locks. Las escrituras se hacen con un lock para que las tablas y los índices queden
+ * consistentes, con las mismas restricciones que las FK de la BD: una relación solo se registra si el book
+ * y el author existen, y no se puede eliminar un book o author que aún tiene relaciones. Las filas no se
+ * modifican, cada escritura guarda una copia nueva.
+ * <p>
+ * Dentro de una transacción (ver MemoryTransactionManager) cada escritura registra cómo deshacerse y se
+ * deshace si la transacción se revierte. No hay aislamiento: los cambios son visibles antes del commit.
+ */
+public class MemoryStore {
+
+    private final ConcurrentSkipListMap<Long, Author> authors = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Book> books = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, NavigableSet<Long>> authorIdsByBookId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, NavigableSet<Long>> bookIdsByAuthorId = new ConcurrentHashMap<>();
+    private final AtomicLong authorSequence = new AtomicLong();
+    private final AtomicLong bookSequence = new AtomicLong();
+    private final AtomicLong linkCount = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    //----------- authors ----------------------------------------------------------------------------------------------
+    public Optional<Author> findAuthor(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(this.authors.get(id));
+    }
+
+    /**
+     * @return filas de authors ordenadas por id, no se deben modificar
+     */
+    public Collection<Author> authors() {
+        return Collections.unmodifiableCollection(this.authors.values());
+    }
+
+    /**
+     * @return filas de authors ordenadas por id de mayor a menor, no se deben modificar
+     */
+    public Collection<Author> authorsDescending() {
+        return Collections.unmodifiableCollection(this.authors.descendingMap().values());
+    }
+
+    public Author insertAuthor(Author author) {
+        this.writeLock.lock();
+        try {
+            Author row = copy(author);
+            row.setId(this.authorSequence.incrementAndGet());
+            row.setVersion(0L);
+            this.authors.put(row.getId(), row);
+            this.onRollback(() -> this.authors.remove(row.getId()));
+            return copy(row);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * @param change, recibe una copia de la fila y devuelve la fila actualizada (la versión se incrementa aquí)
+     * @return false si no existe el author
+     */
+    public boolean updateAuthor(Long id, UnaryOperator<Author> change) {
+        this.writeLock.lock();
+        try {
+            Author current = this.authors.get(id);
+            if (current == null) {
+                return false;
+            }
+            Author updated = change.apply(copy(current));
+            updated.setId(id);
+            updated.setVersion(current.getVersion() + 1);
+            this.authors.put(id, updated);
+            this.onRollback(() -> this.authors.put(id, current));
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public boolean deleteAuthor(Long id) {
+        this.writeLock.lock();
+        try {
+            if (!this.bookIdsOfAuthor(id).isEmpty()) {
+                throw new DataIntegrityViolationException("El author %d tiene relaciones en books_authors".formatted(id));
+            }
+            Author removed = this.authors.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            this.onRollback(() -> this.authors.put(id, removed));
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    //----------- books ------------------------------------------------------------------------------------------------
+    public Optional<Book> findBook(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(this.books.get(id));
+    }
+
+    /**
+     * @return filas de books ordenadas por id, no se deben modificar
+     */
+    public Collection<Book> books() {
+        return Collections.unmodifiableCollection(this.books.values());
+    }
+
+    /**
+     * @return filas de books ordenadas por id de mayor a menor, no se deben modificar
+     */
+    public Collection<Book> booksDescending() {
+        return Collections.unmodifiableCollection(this.books.descendingMap().values());
+    }
+
+    public Book insertBook(Book book) {
+        this.writeLock.lock();
+        try {
+            Book row = copy(book);
+            row.setId(this.bookSequence.incrementAndGet());
+            row.setVersion(0L);
+            this.books.put(row.getId(), row);
+            this.onRollback(() -> this.books.remove(row.getId()));
+            return copy(row);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * @param change, recibe una copia de la fila y devuelve la fila actualizada (la versión se incrementa aquí)
+     * @return false si no existe el book
+     */
+    public boolean updateBook(Long id, UnaryOperator<Book> change) {
+        this.writeLock.lock();
+        try {
+            Book current = this.books.get(id);
+            if (current == null) {
+                return false;
+            }
+            Book updated = change.apply(copy(current));
+            updated.setId(id);
+            updated.setVersion(current.getVersion() + 1);
+            this.books.put(id, updated);
+            this.onRollback(() -> this.books.put(id, current));
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public boolean deleteBook(Long id) {
+        this.writeLock.lock();
+        try {
+            if (!this.authorIdsOfBook(id).isEmpty()) {
+                throw new DataIntegrityViolationException("El book %d tiene relaciones en books_authors".formatted(id));
+            }
+            Book removed = this.books.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            this.onRollback(() -> this.books.put(id, removed));
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    //----------- books_authors ----------------------------------------------------------------------------------------
+
+    /**
+     * @return ids de los autores del book, ordenados
+     */
+    public NavigableSet<Long> authorIdsOfBook(Long bookId) {
+        NavigableSet<Long> authorIds = this.authorIdsByBookId.get(bookId);
+        return authorIds == null ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(authorIds);
+    }
+
+    /**
+     * @return ids de los books del author, ordenados
+     */
+    public NavigableSet<Long> bookIdsOfAuthor(Long authorId) {
+        NavigableSet<Long> bookIds = this.bookIdsByAuthorId.get(authorId);
+        return bookIds == null ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(bookIds);
+    }
+
+    /**
+     * @return book ids que tienen al menos un author, ordenados
+     */
+    public NavigableSet<Long> linkedBookIds() {
+        return new ConcurrentSkipListSet<>(this.authorIdsByBookId.keySet());
+    }
+
+    /**
+     * @return author ids que tienen al menos un book, ordenados
+     */
+    public NavigableSet<Long> linkedAuthorIds() {
+        return new ConcurrentSkipListSet<>(this.bookIdsByAuthorId.keySet());
+    }
+
+    public long countLinks() {
+        return this.linkCount.get();
+    }
+
+    public void link(Long bookId, Long authorId) {
+        this.writeLock.lock();
+        try {
+            if (!this.books.containsKey(bookId) || !this.authors.containsKey(authorId)) {
+                throw new DataIntegrityViolationException("No existe el book %d o el author %d".formatted(bookId, authorId));
+            }
+            if (!this.addLink(bookId, authorId)) {
+                throw new DuplicateKeyException("Ya existe la relación entre el book %d y el author %d".formatted(bookId, authorId));
+            }
+            this.onRollback(() -> this.removeLink(bookId, authorId));
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return false si no existía la relación
+     */
+    public boolean unlink(Long bookId, Long authorId) {
+        this.writeLock.lock();
+        try {
+            if (!this.removeLink(bookId, authorId)) {
+                return false;
+            }
+            this.onRollback(() -> this.addLink(bookId, authorId));
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    private boolean addLink(Long bookId, Long authorId) {
+        if (!this.authorIdsByBookId.computeIfAbsent(bookId, key -> new ConcurrentSkipListSet<>()).add(authorId)) {
+            return false;
+        }
+        this.bookIdsByAuthorId.computeIfAbsent(authorId, key -> new ConcurrentSkipListSet<>()).add(bookId);
+        this.linkCount.incrementAndGet();
+        return true;
+    }
+
+    private boolean removeLink(Long bookId, Long authorId) {
+        NavigableSet<Long> authorIds = this.authorIdsByBookId.get(bookId);
+        if (authorIds == null || !authorIds.remove(authorId)) {
+            return false;
+        }
+        if (authorIds.isEmpty()) {
+            this.authorIdsByBookId.remove(bookId);
+        }
+        NavigableSet<Long> bookIds = this.bookIdsByAuthorId.get(authorId);
+        bookIds.remove(bookId);
+        if (bookIds.isEmpty()) {
+            this.bookIdsByAuthorId.remove(authorId);
+        }
+        this.linkCount.decrementAndGet();
+        return true;
+    }
+
+    //----------- transacciones ----------------------------------------------------------------------------------------
+    void rollback(UndoLog undoLog) {
+        this.writeLock.lock();
+        try {
+            Runnable undo;
+            while ((undo = undoLog.actions.pollFirst()) != null) {
+                undo.run();
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Fuera de una transacción la escritura queda confirmada de inmediato.
+     */
+    private void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.getResource(this) instanceof UndoLog undoLog) {
+            undoLog.actions.addFirst(undo);
+        }
+    }
+
+    /**
+     * Ids sin repetir y sin null, como los considera un IN(...) de SQL.
+     */
+    static List<Long> distinct(Collection<Long> ids) {
+        return ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    static Author copy(Author author) {
+        return new Author(author.getId(), author.getFirstName(), author.getLastName(), author.getBirthdate(), author.getVersion());
+    }
+
+    static Book copy(Book book) {
+        return new Book(book.getId(), book.getTitle(), book.getPublicationDate(), book.getOnlineAvailability(), book.getVersion());
+    }
+
+    /**
+     * Acciones para deshacer las escrituras de una transacción, la última escritura primero.
+     */
+    static final class UndoLog {
+        private final Deque<Runnable> actions = new ArrayDeque<>();
+        private boolean rollbackOnly;
+
+        boolean isRollbackOnly() {
+            return this.rollbackOnly;
+        }
+
+        void setRollbackOnly() {
+            this.rollbackOnly = true;
+        }
+    }
+}
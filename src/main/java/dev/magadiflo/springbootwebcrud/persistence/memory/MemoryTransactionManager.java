@@ -0,0 +1,87 @@
+package dev.magadiflo.springbootwebcrud.persistence.memory;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transacciones del motor en memoria: no hay recursos que abrir (conexiones), solo se asocia al hilo el
+ * UndoLog de MemoryStore para deshacer las escrituras si la transacción se revierte. Mantiene la semántica
+ * de propagación de Spring, así que @Transactional, TransactionTemplate y los eventos AFTER_COMMIT
+ * funcionan igual que con JPA.
+ */
+public class MemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final transient MemoryStore store;
+
+    public MemoryTransactionManager(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new MemoryTransaction((MemoryStore.UndoLog) TransactionSynchronizationManager.getResource(this.store));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((MemoryTransaction) transaction).undoLog != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        MemoryTransaction memoryTransaction = (MemoryTransaction) transaction;
+        memoryTransaction.undoLog = new MemoryStore.UndoLog();
+        TransactionSynchronizationManager.bindResource(this.store, memoryTransaction.undoLog);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((MemoryTransaction) transaction).undoLog = null;
+        return TransactionSynchronizationManager.unbindResource(this.store);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(this.store, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        // Las escrituras ya están aplicadas en MemoryStore, el UndoLog se descarta al terminar
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        this.store.rollback(((MemoryTransaction) status.getTransaction()).undoLog);
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((MemoryTransaction) status.getTransaction()).undoLog.setRollbackOnly();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(this.store);
+    }
+
+    private static final class MemoryTransaction implements SmartTransactionObject {
+        private MemoryStore.UndoLog undoLog;
+
+        private MemoryTransaction(MemoryStore.UndoLog undoLog) {
+            this.undoLog = undoLog;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return this.undoLog != null && this.undoLog.isRollbackOnly();
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
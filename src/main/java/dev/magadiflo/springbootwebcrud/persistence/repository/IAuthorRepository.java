@@ -12,7 +12,8 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
-public interface IAuthorRepository extends PagingAndSortingRepository<Author, Long>, JpaSpecificationExecutor<IAuthorProjection> {
+public interface IAuthorRepository extends PagingAndSortingRepository<Author, Long>, JpaSpecificationExecutor<IAuthorProjection>,
+        IAuthorRepositoryCustom {
 
     /**
      * @param ids de los autores
@@ -25,6 +26,17 @@ public interface IAuthorRepository extends PagingAndSortingRepository<Author, Lo
             """, nativeQuery = true)
     Integer countAuthorsByIds(@Param("authorsId") List<Long> ids);
 
+    /**
+     * @param ids de los autores
+     * @return ids de la lista que sí están registrados en la BD
+     */
+    @Query(value = """
+            SELECT a.id
+            FROM authors a
+            WHERE a.id IN(:authorsId)
+            """, nativeQuery = true)
+    List<Long> findExistingAuthorIds(@Param("authorsId") List<Long> ids);
+
     /**
      * @param id, es el id del author
      * @return Optional<IAuthorProjection>, interfaz donde se definieron métodos correspondientes a los campos
@@ -32,12 +44,37 @@ public interface IAuthorRepository extends PagingAndSortingRepository<Author, Lo
      */
     @Query(value = """
             SELECT a.id AS id, a.first_name AS firstName, a.last_name AS lastName,
-                    CONCAT(a.first_name, ' ' , a.last_name) AS fullName, a.birthdate AS birthdate
+                    CONCAT(a.first_name, ' ' , a.last_name) AS fullName, a.birthdate AS birthdate, a.version AS version
             FROM authors AS a
             WHERE a.id = :id
             """, nativeQuery = true)
     Optional<IAuthorProjection> findAuthorById(@Param("id") Long id);
 
+    /**
+     * @param id, es el id del author
+     * @return versión actual del author, para validar el ETag o comprobar que existe sin leer el registro completo
+     */
+    @Query(value = "SELECT a.version FROM authors AS a WHERE a.id = :id", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * @return mayor id de la tabla authors, vacío si no hay autores. Se resuelve con el índice de la PK
+     */
+    @Query(value = "SELECT MAX(a.id) FROM authors AS a", nativeQuery = true)
+    Optional<Long> findMaxId();
+
+    /**
+     * @param ids de los autores
+     * @return autores encontrados, en cualquier orden
+     */
+    @Query(value = """
+            SELECT a.id AS id, a.first_name AS firstName, a.last_name AS lastName,
+                    CONCAT(a.first_name, ' ' , a.last_name) AS fullName, a.birthdate AS birthdate, a.version AS version
+            FROM authors AS a
+            WHERE a.id IN(:ids)
+            """, nativeQuery = true)
+    List<IAuthorProjection> findAuthorsByIds(@Param("ids") List<Long> ids);
+
     /**
      * @param author
      * @return affected rows
@@ -56,16 +93,42 @@ public interface IAuthorRepository extends PagingAndSortingRepository<Author, Lo
     @Modifying
     @Query(value = """
             UPDATE authors AS a
-            SET a.first_name = :#{#author.firstName}, a.last_name = :#{#author.lastName}, a.birthdate = :#{#author.birthdate}
+            SET a.first_name = :#{#author.firstName}, a.last_name = :#{#author.lastName}, a.birthdate = :#{#author.birthdate},
+                a.version = a.version + 1
             WHERE a.id = :#{#author.id}
             """, nativeQuery = true)
     Integer updateAuthor(@Param("author") Author author);
 
+    /**
+     * Actualiza solo las columnas cuyo valor no es null, el resto conserva su valor actual.
+     *
+     * @param author
+     * @return affected rows (filas encontradas, 0 si no existe el author)
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE authors AS a
+            SET a.first_name = COALESCE(:#{#author.firstName}, a.first_name),
+                a.last_name = COALESCE(:#{#author.lastName}, a.last_name),
+                a.birthdate = COALESCE(:#{#author.birthdate}, a.birthdate),
+                a.version = a.version + 1
+            WHERE a.id = :#{#author.id}
+            """, nativeQuery = true)
+    Integer patchAuthor(@Param("author") Author author);
+
     /**
      * @param id, es el id del author
-     * @return void
+     * @return affected rows
      */
     @Modifying
     @Query(value = "DELETE FROM authors WHERE id = :id", nativeQuery = true)
-    void deleteAuthorById(@Param("id") Long id);
+    Integer deleteAuthorById(@Param("id") Long id);
+
+    /**
+     * @param ids de los autores, sus relaciones en books_authors deben haberse eliminado antes
+     * @return affected rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM authors WHERE id IN(:ids)", nativeQuery = true)
+    Integer deleteAuthorsByIds(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,47 @@
+package dev.magadiflo.springbootwebcrud.persistence.repository;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fragmento de repositorio para las operaciones de Author que no se pueden expresar con una @Query,
+ * su implementación se encuentra en IAuthorRepositoryCustomImpl.
+ */
+public interface IAuthorRepositoryCustom {
+
+    /**
+     * Registra los autores en un solo batch JDBC.
+     *
+     * @param authors, autores a registrar
+     * @return ids generados, en el mismo orden de la lista recibida
+     */
+    List<Long> insertAuthors(List<Author> authors);
+
+    /**
+     * Recorre los autores que cumplen la Specification con un cursor de solo avance (forward-only), leyendo
+     * fetchSize filas por viaje a la BD. Cada author se desasocia del contexto de persistencia al ser leído,
+     * así que la memoria usada no depende del total de filas. Debe consumirse dentro de una transacción
+     * y cerrarse al terminar.
+     *
+     * @param specification, criterios de búsqueda (ver AuthorSpecs)
+     * @param fetchSize,     cantidad de filas que el driver trae en cada viaje
+     * @return Stream de autores ordenados por id
+     */
+    Stream<Author> streamAll(Specification<IAuthorProjection> specification, int fetchSize);
+
+    /**
+     * Igual que findAll(Specification, Pageable) pero sin la consulta COUNT(*) adicional.
+     *
+     * @param specification, criterios de búsqueda
+     * @param sort,          ordenamiento
+     * @param offset,        filas a saltar
+     * @param limit,         máximo de filas a devolver
+     * @return autores encontrados
+     */
+    List<Author> findAllWithoutCount(Specification<IAuthorProjection> specification, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,117 @@
+package dev.magadiflo.springbootwebcrud.persistence.repository;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class IAuthorRepositoryCustomImpl implements IAuthorRepositoryCustom {
+
+    private static final String INSERT_AUTHOR = "INSERT INTO authors(first_name, last_name, birthdate) VALUES(?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> insertAuthors(List<Author> authors) {
+        if (authors.isEmpty()) {
+            return List.of();
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_AUTHOR, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Author author = authors.get(i);
+                        ps.setString(1, author.getFirstName());
+                        ps.setString(2, author.getLastName());
+                        ps.setObject(3, author.getBirthdate(), Types.DATE);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return authors.size();
+                    }
+                }, keyHolder);
+
+        List<Long> ids = new ArrayList<>(authors.size());
+        List<Map<String, Object>> keyList = keyHolder.getKeyList();
+        for (int i = 0; i < keyList.size(); i++) {
+            Long id = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            authors.get(i).setId(id);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    @Override
+    public Stream<Author> streamAll(Specification<IAuthorProjection> specification, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Author> query = criteriaBuilder.createQuery(Author.class);
+        Root<Author> root = query.from(Author.class);
+
+        Predicate predicate = specification.toPredicate(projectionRoot(root), query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+        return this.entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(author -> {
+                    this.entityManager.detach(author);
+                    return author;
+                });
+    }
+
+    @Override
+    public List<Author> findAllWithoutCount(Specification<IAuthorProjection> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Author> query = criteriaBuilder.createQuery(Author.class);
+        Root<Author> root = query.from(Author.class);
+
+        Predicate predicate = specification.toPredicate(projectionRoot(root), query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return this.entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Las Specification del proyecto están tipadas con IAuthorProjection (igual que el JpaSpecificationExecutor
+     * de IAuthorRepository), pero la raíz real de la consulta es la entidad Author.
+     */
+    @SuppressWarnings("unchecked")
+    private static Root<IAuthorProjection> projectionRoot(Root<Author> root) {
+        return (Root<IAuthorProjection>) (Root<?>) root;
+    }
+}
@@ -1,5 +1,7 @@
 package dev.magadiflo.springbootwebcrud.persistence.repository;
 
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorBookCountProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorRowProjection;
 import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
 import dev.magadiflo.springbootwebcrud.persistence.entity.BookAuthor;
 import dev.magadiflo.springbootwebcrud.persistence.entity.BookAuthorPK;
@@ -8,20 +10,108 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface IBookAuthorRepository extends CrudRepository<BookAuthor, BookAuthorPK> {
+public interface IBookAuthorRepository extends CrudRepository<BookAuthor, BookAuthorPK>, IBookAuthorRepositoryCustom {
     @Query(value = """
-            SELECT b.id AS id, b.title AS title, b.publication_date AS publicationDate, b.online_availability AS onlineAvailability,
+            SELECT b.id AS id, b.title AS title, b.publication_date AS publicationDate, b.online_availability AS onlineAvailability, b.version AS version,
             	GROUP_CONCAT(CONCAT(a.first_name, ' ', a.last_name) SEPARATOR ', ') AS concatAuthors
             FROM books AS b
             	INNER JOIN books_authors AS ba ON(b.id = ba.book_id)
             	INNER JOIN authors AS a ON(ba.author_id = a.id)
             WHERE b.id = :bookId
-            GROUP BY b.id, b.title, b.publication_date, b.online_availability
+            GROUP BY b.id, b.title, b.publication_date, b.online_availability, b.version
             """, nativeQuery = true)
     Optional<IBookProjection> findBookAuthorByBookId(@Param("bookId") Long id);
 
+    /**
+     * @param ids de los books
+     * @return books con sus autores, en cualquier orden. Igual que findBookAuthorByBookId, no incluye
+     * los books que no tienen autores.
+     */
+    @Query(value = """
+            SELECT b.id AS id, b.title AS title, b.publication_date AS publicationDate, b.online_availability AS onlineAvailability, b.version AS version,
+            	GROUP_CONCAT(CONCAT(a.first_name, ' ', a.last_name) SEPARATOR ', ') AS concatAuthors
+            FROM books AS b
+            	INNER JOIN books_authors AS ba ON(b.id = ba.book_id)
+            	INNER JOIN authors AS a ON(ba.author_id = a.id)
+            WHERE b.id IN(:bookIds)
+            GROUP BY b.id, b.title, b.publication_date, b.online_availability, b.version
+            """, nativeQuery = true)
+    List<IBookProjection> findBookAuthorsByBookIds(@Param("bookIds") List<Long> ids);
+
+    /**
+     * @param ids de los books
+     * @return una fila por cada relación book-author, ordenadas por book y author
+     */
+    @Query(value = """
+            SELECT ba.book_id AS bookId, a.id AS authorId, CONCAT(a.first_name, ' ', a.last_name) AS fullName
+            FROM books_authors AS ba
+            	INNER JOIN authors AS a ON(ba.author_id = a.id)
+            WHERE ba.book_id IN(:bookIds)
+            ORDER BY ba.book_id, a.id
+            """, nativeQuery = true)
+    List<IBookAuthorRowProjection> findAuthorRowsByBookIds(@Param("bookIds") List<Long> ids);
+
+    /**
+     * @param id, es el id del author
+     * @return ids de los books relacionados con el author
+     */
+    @Query(value = "SELECT ba.book_id FROM books_authors AS ba WHERE ba.author_id = :authorId", nativeQuery = true)
+    List<Long> findBookIdsByAuthorId(@Param("authorId") Long id);
+
+    /**
+     * Paginación por keyset de los books de un author: recorre la PK (author_id, book_id) a partir de
+     * afterBookId, sin OFFSET, así el costo de cada página no depende de cuántos books tenga el author.
+     *
+     * @param authorId,    es el id del author
+     * @param afterBookId, id del último book de la página anterior, 0 para la primera página
+     * @param limit,       cantidad máxima de ids a devolver
+     * @return ids de los books ordenados de menor a mayor
+     */
+    @Query(value = """
+            SELECT ba.book_id
+            FROM books_authors AS ba
+            WHERE ba.author_id = :authorId AND ba.book_id > :afterBookId
+            ORDER BY ba.book_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findBookIdsByAuthorIdAfter(@Param("authorId") Long authorId, @Param("afterBookId") Long afterBookId,
+                                          @Param("limit") int limit);
+
+    /**
+     * @param ids de los autores
+     * @return ids (sin repetir) de los books relacionados con alguno de los autores
+     */
+    @Query(value = "SELECT DISTINCT ba.book_id FROM books_authors AS ba WHERE ba.author_id IN(:authorIds)", nativeQuery = true)
+    List<Long> findBookIdsByAuthorIds(@Param("authorIds") List<Long> ids);
+
+    /**
+     * Recorre toda la tabla books_authors (en el orden de la PK), solo la usa la conciliación periódica de
+     * CatalogStatistics.
+     *
+     * @return una fila por cada author que tiene al menos un book
+     */
+    @Query(value = """
+            SELECT ba.author_id AS authorId, COUNT(*) AS books
+            FROM books_authors AS ba
+            GROUP BY ba.author_id
+            """, nativeQuery = true)
+    List<IAuthorBookCountProjection> countBooksByAuthor();
+
+    /**
+     * No devuelve filas, solo lee books y books_authors para que una transacción REPEATABLE READ fije su vista
+     * de ambas tablas (H2 la fija por tabla en la primera lectura). La usa la conciliación de CatalogStatistics.
+     */
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM books_authors AS ba
+            	INNER JOIN books AS b ON(b.id = ba.book_id)
+            WHERE ba.book_id = 0
+            """, nativeQuery = true)
+    Long touchCatalogTables();
+
     @Query("""
             SELECT CASE
                         WHEN COUNT(ba.id.book.id) > 0 THEN true
@@ -42,6 +132,23 @@ public interface IBookAuthorRepository extends CrudRepository<BookAuthor, BookAu
             """)
     Optional<Boolean> existsBookAuthorByAuthorId(@Param("authorId") Long id);
 
+    /**
+     * Registra en una sola sentencia (INSERT ... SELECT) todas las relaciones de un book con sus autores,
+     * evitando el SELECT + INSERT por cada registro que hace el save() de una entidad con @EmbeddedId.
+     *
+     * @param bookId,    es el id del book
+     * @param authorIds, son los ids de los autores a relacionar con el book
+     * @return affected rows
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO books_authors(book_id, author_id)
+            SELECT :bookId, a.id
+            FROM authors AS a
+            WHERE a.id IN(:authorIds)
+            """, nativeQuery = true)
+    Integer saveBookAuthors(@Param("bookId") Long bookId, @Param("authorIds") List<Long> authorIds);
+
     @Modifying
     @Query("DELETE FROM BookAuthor AS ba WHERE ba.id.book.id = :bookId")
     Integer deleteBookAuthorByBookId(@Param("bookId") Long id);
@@ -50,4 +157,12 @@ public interface IBookAuthorRepository extends CrudRepository<BookAuthor, BookAu
     @Query("DELETE FROM BookAuthor AS ba WHERE ba.id.author.id = :authorId")
     Integer deleteBookAuthorByAuthorId(@Param("authorId") Long id);
 
+    @Modifying
+    @Query(value = "DELETE FROM books_authors WHERE book_id IN(:bookIds)", nativeQuery = true)
+    Integer deleteBookAuthorsByBookIds(@Param("bookIds") List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM books_authors WHERE author_id IN(:authorIds)", nativeQuery = true)
+    Integer deleteBookAuthorsByAuthorIds(@Param("authorIds") List<Long> ids);
+
 }
@@ -0,0 +1,20 @@
+package dev.magadiflo.springbootwebcrud.persistence.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fragmento de repositorio para las operaciones de books_authors que no se pueden expresar con una @Query,
+ * su implementación se encuentra en IBookAuthorRepositoryCustomImpl.
+ */
+public interface IBookAuthorRepositoryCustom {
+
+    /**
+     * Registra las relaciones de varios books con sus autores en un solo batch JDBC. A diferencia de
+     * saveBookAuthors no valida que los autores existan, eso lo hace la FK.
+     *
+     * @param authorIdsByBookId, ids de los autores de cada book
+     * @return cantidad de relaciones registradas
+     */
+    int insertBookAuthors(Map<Long, List<Long>> authorIdsByBookId);
+}
@@ -0,0 +1,31 @@
+package dev.magadiflo.springbootwebcrud.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+public class IBookAuthorRepositoryCustomImpl implements IBookAuthorRepositoryCustom {
+
+    private static final String INSERT_BOOK_AUTHOR = "INSERT INTO books_authors(book_id, author_id) VALUES(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertBookAuthors(Map<Long, List<Long>> authorIdsByBookId) {
+        List<Object[]> rows = authorIdsByBookId.entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream()
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .map(authorId -> new Object[]{entry.getKey(), authorId}))
+                .toList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_BOOK_AUTHOR, rows);
+        return rows.size();
+    }
+}
@@ -1,8 +1,85 @@
 package dev.magadiflo.springbootwebcrud.persistence.repository;
 
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorIdRowProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IPublicationYearCountProjection;
 import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
-public interface IBookRepository extends CrudRepository<Book, Long>, PagingAndSortingRepository<Book, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface IBookRepository extends CrudRepository<Book, Long>, PagingAndSortingRepository<Book, Long>, IBookRepositoryCustom {
+
+    /**
+     * A diferencia de findAll(Pageable), devuelve un Slice: consulta pageSize + 1 filas para saber si hay
+     * siguiente página y no ejecuta el COUNT(*).
+     */
+    Slice<Book> findAllBy(Pageable pageable);
+
+    /**
+     * @param id, es el id del book
+     * @return versión actual del book, para validar el ETag sin ejecutar la consulta con sus autores
+     */
+    @Query(value = "SELECT b.version FROM books AS b WHERE b.id = :id", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Incrementa la versión de los books relacionados con los autores, su representación incluye el nombre
+     * de los autores. Debe ejecutarse antes de eliminar las relaciones en books_authors.
+     *
+     * @param authorIds, ids de los autores
+     * @return affected rows
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE books
+            SET version = version + 1
+            WHERE id IN(SELECT ba.book_id FROM books_authors AS ba WHERE ba.author_id IN(:authorIds))
+            """, nativeQuery = true)
+    Integer incrementVersionOfBooksByAuthorIds(@Param("authorIds") List<Long> authorIds);
+
+    /**
+     * Bloquea los books y sus relaciones hasta el final de la transacción, así una eliminación concurrente
+     * del mismo book espera y luego ya no lo encuentra.
+     *
+     * @param ids de los books que se van a eliminar
+     * @return una fila por cada relación book-author (o una sin author), ordenadas por book y author
+     */
+    @Query(value = """
+            SELECT b.id AS bookId, b.publication_date AS publicationDate, b.online_availability AS onlineAvailability,
+                ba.author_id AS authorId
+            FROM books AS b
+                LEFT JOIN books_authors AS ba ON(ba.book_id = b.id)
+            WHERE b.id IN(:ids)
+            ORDER BY b.id, ba.author_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<IBookAuthorIdRowProjection> findBooksToDeleteForUpdate(@Param("ids") List<Long> ids);
+
+    /**
+     * @param ids de los books, sus relaciones en books_authors deben haberse eliminado antes
+     * @return affected rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM books WHERE id IN(:ids)", nativeQuery = true)
+    Integer deleteBooksByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Recorre toda la tabla books, solo la usa la conciliación periódica de CatalogStatistics.
+     *
+     * @return una fila por año de publicación, con el total de books y los que están disponibles online
+     */
+    @Query(value = """
+            SELECT YEAR(b.publication_date) AS publicationYear, COUNT(*) AS books,
+            	SUM(CASE WHEN b.online_availability = 1 THEN 1 ELSE 0 END) AS onlineBooks
+            FROM books AS b
+            GROUP BY YEAR(b.publication_date)
+            """, nativeQuery = true)
+    List<IPublicationYearCountProjection> countBooksByPublicationYear();
 }
@@ -0,0 +1,20 @@
+package dev.magadiflo.springbootwebcrud.persistence.repository;
+
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+
+import java.util.List;
+
+/**
+ * Fragmento de repositorio para las operaciones de Book que no se pueden expresar con una @Query,
+ * su implementación se encuentra en IBookRepositoryCustomImpl.
+ */
+public interface IBookRepositoryCustom {
+
+    /**
+     * Registra los books en un solo batch JDBC. Asigna a cada book su id generado.
+     *
+     * @param books, books a registrar
+     * @return ids generados, en el mismo orden de la lista recibida
+     */
+    List<Long> insertBooks(List<Book> books);
+}
@@ -0,0 +1,56 @@
+package dev.magadiflo.springbootwebcrud.persistence.repository;
+
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class IBookRepositoryCustomImpl implements IBookRepositoryCustom {
+
+    private static final String INSERT_BOOK = "INSERT INTO books(title, publication_date, online_availability) VALUES(?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertBooks(List<Book> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOK, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Book book = books.get(i);
+                        ps.setString(1, book.getTitle());
+                        ps.setObject(2, book.getPublicationDate(), Types.DATE);
+                        ps.setObject(3, book.getOnlineAvailability(), Types.BOOLEAN);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return books.size();
+                    }
+                }, keyHolder);
+
+        List<Long> ids = new ArrayList<>(books.size());
+        List<Map<String, Object>> keyList = keyHolder.getKeyList();
+        for (int i = 0; i < keyList.size(); i++) {
+            Long id = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            books.get(i).setId(id);
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +30,10 @@ public class AuthorSpecification implements Specification<IAuthorProjection> {
 
     private String q;
     private LocalDate birthdate;
+    /**
+     * Ids candidatos del índice de trigramas para q (ver AuthorNameIndex), null si no se debe filtrar por id.
+     */
+    private Collection<Long> candidateIds;
 
     /**
      * Crea una cláusula WHERE para una consulta de la entidad a la que se hace referencia en forma de predicado para
@@ -54,6 +59,12 @@ public class AuthorSpecification implements Specification<IAuthorProjection> {
             predicatesAND.add(birthdatePredicate);
         }
 
+        if (candidateIds != null) {
+            Predicate candidateIdsPredicate = candidateIds.isEmpty() ? criteriaBuilder.disjunction() : root.get("id").in(candidateIds);
+
+            predicatesAND.add(candidateIdsPredicate);
+        }
+
         if (predicatesOR.isEmpty() && predicatesAND.isEmpty()) {
             return null;
         }
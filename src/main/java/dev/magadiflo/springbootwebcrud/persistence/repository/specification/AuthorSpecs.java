@@ -1,10 +1,15 @@
 package dev.magadiflo.springbootwebcrud.persistence.repository.specification;
 
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorCursor;
 import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
+import java.util.Collection;
 
 /**
  * Esta clase es similar a la clase AuthorSpecification, solo que aquí definimos en
@@ -30,4 +35,59 @@ public class AuthorSpecs {
             return criteriaBuilder.equal(root.get("birthdate"), birthdate);
         };
     }
+
+    /**
+     * @param ids, ids candidatos (ver AuthorNameIndex); null si no se debe filtrar por id
+     */
+    public static Specification<IAuthorProjection> idIsIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> {
+            if (ids == null) return null;
+            if (ids.isEmpty()) return criteriaBuilder.disjunction();
+            return root.get("id").in(ids);
+        };
+    }
+
+    /**
+     * @param id, autores con id mayor a este; null si no se debe filtrar por id
+     */
+    public static Specification<IAuthorProjection> idIsGreaterThan(Long id) {
+        return (root, query, criteriaBuilder) -> {
+            if (id == null) return null;
+            return criteriaBuilder.greaterThan(root.get("id"), id);
+        };
+    }
+
+    /**
+     * Condición de keyset: filas que van después del cursor según (propiedad, id), equivalente a
+     * WHERE (last_name, id) > (?, ?) en orden ascendente. Se escribe con OR/AND para poder tratar
+     * los valores NULL, que MySQL ordena primero en ASC y al final en DESC.
+     */
+    public static Specification<IAuthorProjection> isAfterCursor(AuthorCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) return null;
+
+            Path<Long> id = root.get("id");
+            boolean ascending = cursor.direction().isAscending();
+            if ("id".equals(cursor.property())) {
+                return ascending ? criteriaBuilder.greaterThan(id, cursor.id()) : criteriaBuilder.lessThan(id, cursor.id());
+            }
+            return seek(criteriaBuilder, root.get(cursor.property()), cursor.typedValue(), id, cursor.id(), ascending);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder criteriaBuilder, Path key, Comparable value, Path<Long> id, Long lastId, boolean ascending) {
+        Predicate sameKeyNextId = ascending ? criteriaBuilder.greaterThan(id, lastId) : criteriaBuilder.lessThan(id, lastId);
+
+        if (value == null) {
+            Predicate nullKeyNextId = criteriaBuilder.and(criteriaBuilder.isNull(key), sameKeyNextId);
+            return ascending ? criteriaBuilder.or(criteriaBuilder.isNotNull(key), nullKeyNextId) : nullKeyNextId;
+        }
+
+        Predicate sameKey = criteriaBuilder.and(criteriaBuilder.equal(key, value), sameKeyNextId);
+        if (ascending) {
+            return criteriaBuilder.or(criteriaBuilder.greaterThan(key, value), sameKey);
+        }
+        return criteriaBuilder.or(criteriaBuilder.lessThan(key, value), sameKey, criteriaBuilder.isNull(key));
+    }
 }
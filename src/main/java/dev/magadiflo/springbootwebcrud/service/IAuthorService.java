@@ -1,35 +1,104 @@
 package dev.magadiflo.springbootwebcrud.service;
 
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorCursor;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorRequestParam;
+import dev.magadiflo.springbootwebcrud.model.dto.BookCursor;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteResultDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.CursorPageDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.MultiGetDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.RegisterAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.SliceDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.UpdateAuthorDTO;
 import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
 import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface IAuthorService {
     IAuthorProjection findAuthorById(Long authorId);
 
+    /**
+     * @return versión actual del author (ver Author.version), Optional.empty() si no existe
+     */
+    Optional<Long> findAuthorVersion(Long authorId);
+
+    /**
+     * Busca varios autores con una sola consulta IN. El resultado respeta el orden de los ids solicitados.
+     */
+    MultiGetDTO<IAuthorProjection> findAuthorsByIds(List<Long> authorIds);
+
     Integer saveAuthor(RegisterAuthorDTO authorDTO);
 
     IAuthorProjection updateAuthor(Long authorId, UpdateAuthorDTO authorDTO);
 
+    /**
+     * Actualiza solo los campos que no son null en una sola sentencia, sin leer antes el author.
+     * Lanza NOT_FOUND si el author no existe.
+     */
+    void patchAuthor(Long authorId, UpdateAuthorDTO authorDTO);
+
     Optional<Boolean> deleteAuthorById(Long authorId);
 
+    /**
+     * Elimina varios autores y sus relaciones en books_authors en una sola transacción, con un número fijo
+     * de sentencias sin importar cuántos ids se envíen.
+     */
+    BulkDeleteResultDTO deleteAuthorsByIds(List<Long> authorIds);
+
     /**
      * Métodos para usar JpaSpecificationExecutor para la ejecución de Specification (API Criteria) para consultas
      * dinámicas.
      * <p>
      * JpaSpecificationExecutor, interfaz para permitir la ejecución de Specifications basadas en la
      * API de criterios JPA.
+     * <p>
+     * Los métodos que reciben AuthorRequestParam arman las Specification (ver AuthorSpecs) en el servicio, para
+     * poder acotar la búsqueda por q con los ids candidatos del índice de trigramas (AuthorNameIndex).
      */
     List<IAuthorProjection> findAllAuthorWithSpecification(AuthorSpecification authorSpecification);
 
-    List<IAuthorProjection> findAllAuthorWithSpecs(Specification<IAuthorProjection> authorSpecs);
+    List<IAuthorProjection> findAllAuthorWithSpecs(AuthorRequestParam authorRequestParam);
 
-    Page<IAuthorProjection> findAllToPage(Specification<IAuthorProjection> authorSpecs, Pageable pageable);
+    Page<IAuthorProjection> findAllToPage(AuthorRequestParam authorRequestParam, Pageable pageable);
+
+    /**
+     * Igual que findAllToPage pero sin COUNT(*).
+     *
+     * @param withApproximateTotal, incluir el total cacheado para los mismos filtros (puede estar desactualizado
+     *                              hasta app.pagination.approximateTotal.refreshAfterWrite); en la última página
+     *                              el total es exacto
+     */
+    SliceDTO<Author> findAllToSlice(AuthorRequestParam authorRequestParam, Pageable pageable, boolean withApproximateTotal);
+
+    /**
+     * Paginación por keyset: en lugar de OFFSET n continúa desde el cursor (valor de ordenamiento + id) de la
+     * última fila de la página anterior y no ejecuta COUNT(*).
+     *
+     * @param cursor, null para la primera página; si viene, su ordenamiento reemplaza a order
+     * @param order,  propiedad y dirección de ordenamiento de la primera página
+     */
+    CursorPageDTO<Author> findAllToCursorPage(AuthorRequestParam authorRequestParam, AuthorCursor cursor,
+                                              Sort.Order order, int pageSize);
+
+    /**
+     * Books del author con todos sus autores, paginados por keyset sobre el id del book (de menor a mayor).
+     * Lanza NOT_FOUND si el author no existe.
+     *
+     * @param cursor, null para la primera página
+     */
+    CursorPageDTO<IBookProjection> findBooksByAuthorId(Long authorId, BookCursor cursor, int pageSize);
+
+    /**
+     * Escribe en formato NDJSON (un author por línea) todos los autores que cumplen los criterios, leyéndolos
+     * con un cursor de la BD en lugar de cargar la lista completa en memoria.
+     */
+    void exportAuthors(AuthorRequestParam authorRequestParam, OutputStream outputStream) throws IOException;
 }
@@ -1,14 +1,43 @@
 package dev.magadiflo.springbootwebcrud.service;
 
+import dev.magadiflo.springbootwebcrud.model.dto.BookWithAuthorsDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteResultDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.MultiGetDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.RegisterBookDTO;
 import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface IBookService {
     IBookProjection findBookAuthorByBookId(Long bookId);
 
+    /**
+     * @return versión actual del book (ver Book.version), Optional.empty() si no existe
+     */
+    Optional<Long> findBookVersion(Long bookId);
+
+    /**
+     * Busca varios books con sus autores con una sola consulta IN. El resultado respeta el orden de los ids
+     * solicitados.
+     */
+    MultiGetDTO<IBookProjection> findBookAuthorsByBookIds(List<Long> bookIds);
+
+    /**
+     * Página de books con sus autores. Se ejecutan siempre dos consultas: la de books y una sola para los
+     * autores de todos los books de la página.
+     */
+    Slice<BookWithAuthorsDTO> findAllBooks(Pageable pageable);
+
     Long saveBookWithAuthorsIdList(RegisterBookDTO registerBookDTO);
 
     Optional<Boolean> deleteBookById(Long bookId);
+
+    /**
+     * Elimina varios books y sus relaciones en books_authors en una sola transacción, con un número fijo
+     * de sentencias sin importar cuántos ids se envíen.
+     */
+    BulkDeleteResultDTO deleteBooksByIds(List<Long> bookIds);
 }
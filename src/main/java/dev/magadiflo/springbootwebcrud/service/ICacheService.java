@@ -0,0 +1,24 @@
+package dev.magadiflo.springbootwebcrud.service;
+
+import dev.magadiflo.springbootwebcrud.model.dto.CacheStatsDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ICacheService {
+    List<CacheStatsDTO> findCacheStats();
+
+    /**
+     * Invalida los books cuya representación incluye el nombre del author (ver IBookAuthorRepository.findBookAuthorByBookId).
+     */
+    void evictBooksOfAuthor(Long authorId);
+
+    /**
+     * Igual que evictBooksOfAuthor, con una sola consulta para todos los autores.
+     */
+    void evictBooksOfAuthors(List<Long> authorIds);
+
+    void evictAuthors(Collection<Long> authorIds);
+
+    void evictBooks(Collection<Long> bookIds);
+}
@@ -0,0 +1,17 @@
+package dev.magadiflo.springbootwebcrud.service;
+
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorBookCountDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.CatalogStatsDTO;
+
+/**
+ * Estadísticas del catálogo leídas de los contadores que se mantienen en memoria (ver CatalogStatistics),
+ * sin GROUP BY por consulta.
+ */
+public interface ICatalogStatsService {
+    CatalogStatsDTO findCatalogStats();
+
+    /**
+     * Lanza NOT_FOUND si el author no existe.
+     */
+    AuthorBookCountDTO findBookCountOfAuthor(Long authorId);
+}
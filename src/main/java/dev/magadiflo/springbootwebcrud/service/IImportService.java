@@ -0,0 +1,16 @@
+package dev.magadiflo.springbootwebcrud.service;
+
+import dev.magadiflo.springbootwebcrud.model.dto.ImportSummaryDTO;
+import dev.magadiflo.springbootwebcrud.model.enums.ImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Importación masiva a partir de un cuerpo NDJSON o CSV. El contenido se lee línea por línea y se
+ * registra en lotes de tamaño fijo, cada lote en su propia transacción.
+ */
+public interface IImportService {
+    ImportSummaryDTO importAuthors(InputStream inputStream, ImportFormat format);
+
+    ImportSummaryDTO importBooks(InputStream inputStream, ImportFormat format);
+}
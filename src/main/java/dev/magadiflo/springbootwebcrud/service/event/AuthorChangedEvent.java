@@ -0,0 +1,32 @@
+package dev.magadiflo.springbootwebcrud.service.event;
+
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+
+/**
+ * Se publica dentro de la transacción que registra, actualiza o elimina un author. Los listeners aplican
+ * el cambio recién cuando la transacción hace commit.
+ * <p>
+ * En una actualización parcial (PATCH) firstName o lastName pueden ser null, lo que indica que ese campo
+ * no cambió y que su valor actual debe leerse de la BD.
+ */
+public record AuthorChangedEvent(Type type,
+                                 Long authorId,
+                                 String firstName,
+                                 String lastName) {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    public static AuthorChangedEvent saved(Author author) {
+        return new AuthorChangedEvent(Type.SAVED, author.getId(), author.getFirstName(), author.getLastName());
+    }
+
+    public boolean isPartial() {
+        return this.type == Type.SAVED && (this.firstName == null || this.lastName == null);
+    }
+
+    public static AuthorChangedEvent deleted(Long authorId) {
+        return new AuthorChangedEvent(Type.DELETED, authorId, null, null);
+    }
+}
@@ -0,0 +1,38 @@
+package dev.magadiflo.springbootwebcrud.service.event;
+
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Se publica dentro de la transacción que registra o elimina un book, con los datos que usan los contadores
+ * del catálogo (ver CatalogStatistics). Los contadores se actualizan recién cuando la transacción hace commit.
+ *
+ * @param authorIds, ids (sin repetir) de los autores relacionados con el book
+ */
+public record BookChangedEvent(Type type,
+                               Long bookId,
+                               LocalDate publicationDate,
+                               Boolean onlineAvailability,
+                               List<Long> authorIds) {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    public static BookChangedEvent saved(Book book, Collection<Long> authorIds) {
+        return of(Type.SAVED, book, authorIds);
+    }
+
+    public static BookChangedEvent deleted(Book book, Collection<Long> authorIds) {
+        return of(Type.DELETED, book, authorIds);
+    }
+
+    private static BookChangedEvent of(Type type, Book book, Collection<Long> authorIds) {
+        List<Long> distinctAuthorIds = authorIds == null ? List.of() : authorIds.stream().filter(Objects::nonNull).distinct().toList();
+        return new BookChangedEvent(type, book.getId(), book.getPublicationDate(), book.getOnlineAvailability(), distinctAuthorIds);
+    }
+}
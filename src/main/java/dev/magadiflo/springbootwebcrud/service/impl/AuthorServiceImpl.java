@@ -1,26 +1,68 @@
 package dev.magadiflo.springbootwebcrud.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.magadiflo.springbootwebcrud.configuration.CacheConfig;
 import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorCursor;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorRequestParam;
+import dev.magadiflo.springbootwebcrud.model.dto.BookCursor;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteResultDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.CursorPageDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.MultiGetDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.RegisterAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.SliceDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.UpdateAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.mapper.AuthorMapper;
 import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
 import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
 import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
 import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
 import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecification;
+import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecs;
 import dev.magadiflo.springbootwebcrud.service.IAuthorService;
+import dev.magadiflo.springbootwebcrud.service.ICacheService;
+import dev.magadiflo.springbootwebcrud.service.event.AuthorChangedEvent;
+import dev.magadiflo.springbootwebcrud.service.search.AuthorNameIndex;
+import dev.magadiflo.springbootwebcrud.service.support.SingleFlight;
+import dev.magadiflo.springbootwebcrud.service.write.AuthorGroupCommitter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -29,73 +71,338 @@ public class AuthorServiceImpl implements IAuthorService {
 
     private final IAuthorRepository authorRepository;
     private final IBookAuthorRepository bookAuthorRepository;
-    private final ModelMapper modelMapper;
+    private final IBookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+    private final ICacheService cacheService;
+    private final AuthorNameIndex authorNameIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final AuthorGroupCommitter authorGroupCommitter;
 
+    @Value("${app.export.fetchSize:1000}")
+    private int exportFetchSize;
+
+    @Value("${app.multiGet.maxIds:100}")
+    private int multiGetMaxIds;
+
+    @Value("${app.bulkDelete.maxIds:1000}")
+    private int bulkDeleteMaxIds;
+
+    @Value("${app.pagination.approximateTotal.refreshAfterWrite:PT1M}")
+    private Duration approximateTotalRefreshAfterWrite;
+
+    @Value("${app.pagination.approximateTotal.maximumSize:1000}")
+    private long approximateTotalMaximumSize;
+
+    @Value("${app.pagination.approximateTotal.threads:2}")
+    private int approximateTotalThreads;
+
+    private TransactionTemplate readOnlyTransaction;
+    private ExecutorService approximateTotalExecutor;
+    private AsyncLoadingCache<AuthorRequestParam, Long> approximateTotals;
+
+    private final SingleFlight<Long, IAuthorProjection> authorByIdFlights = new SingleFlight<>();
+    private final SingleFlight<AuthorRequestParam, List<IAuthorProjection>> specificationFlights = new SingleFlight<>();
+    private final SingleFlight<AuthorRequestParam, List<IAuthorProjection>> specsFlights = new SingleFlight<>();
+    private final SingleFlight<PageKey, Page<IAuthorProjection>> pageFlights = new SingleFlight<>();
+
+    /**
+     * Totales por combinación de filtros. Se calculan con COUNT(*) en un pool de pocos hilos (para no ocupar
+     * muchas conexiones a la vez) y, pasado refreshAfterWrite, se recalculan en segundo plano mientras se
+     * sigue devolviendo el valor anterior.
+     * <p>
+     * El pool no se declara como bean: un bean Executor desactiva el applicationTaskExecutor de Spring Boot,
+     * que es el que ejecuta el StreamingResponseBody de la exportación. Se cierra en shutdownApproximateTotals.
+     * <p>
+     * La transacción readOnly también la usan las consultas agrupadas con SingleFlight.
+     */
+    @PostConstruct
+    public void initApproximateTotals() {
+        this.readOnlyTransaction = new TransactionTemplate(this.transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.approximateTotalExecutor = Executors.newFixedThreadPool(this.approximateTotalThreads,
+                Thread.ofPlatform().name("approximate-total-", 1).daemon().factory());
+        this.approximateTotals = Caffeine.newBuilder()
+                .maximumSize(this.approximateTotalMaximumSize)
+                .refreshAfterWrite(this.approximateTotalRefreshAfterWrite)
+                .expireAfterAccess(this.approximateTotalRefreshAfterWrite.multipliedBy(10))
+                .executor(this.approximateTotalExecutor)
+                .buildAsync(authorRequestParam -> this.readOnly(() -> this.authorRepository.count(this.toSpecs(authorRequestParam))));
+    }
+
+    /**
+     * Los COUNT(*) en curso se interrumpen, sus totales ya no se van a consultar.
+     */
+    @PreDestroy
+    public void shutdownApproximateTotals() {
+        this.approximateTotalExecutor.shutdownNow();
+    }
+
+    /**
+     * Sin @Transactional: las peticiones concurrentes por el mismo id que no encuentran al author en la caché
+     * comparten una sola consulta (ver SingleFlight). La transacción readOnly se abre dentro del grupo, así la
+     * consulta va a una réplica (una transacción abierta antes haría que SingleFlight no agrupe).
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#authorId")
     public IAuthorProjection findAuthorById(Long authorId) {
-        return this.authorRepository.findAuthorById(authorId)
-                .orElseThrow(() -> new ApiException("No existe el author buscado", HttpStatus.NOT_FOUND));
+        return this.authorByIdFlights.execute(authorId, () -> this.readOnly(() -> this.authorRepository.findAuthorById(authorId)
+                .orElseThrow(() -> new ApiException("No existe el author buscado", HttpStatus.NOT_FOUND))));
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public Optional<Long> findAuthorVersion(Long authorId) {
+        return this.authorRepository.findVersionById(authorId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MultiGetDTO<IAuthorProjection> findAuthorsByIds(List<Long> authorIds) {
+        List<Long> ids = MultiGetDTO.distinctIds(authorIds, this.multiGetMaxIds);
+        return MultiGetDTO.of(ids, this.authorRepository.findAuthorsByIds(ids), IAuthorProjection::getId);
+    }
+
+    /**
+     * Sin @Transactional: la transacción la abre AuthorGroupCommitter, que con group commit activado registra
+     * al author junto con los de otras peticiones. Esperar la confirmación dentro de una transacción propia
+     * mantendría ocupada una conexión sin usarla.
+     */
+    @Override
     public Integer saveAuthor(RegisterAuthorDTO authorDTO) {
-        Integer affectedRows = null;
         try {
-            Author author = this.modelMapper.map(authorDTO, Author.class);
-            affectedRows = this.authorRepository.saveAuthor(author);
+            this.authorGroupCommitter.save(AuthorMapper.toAuthor(authorDTO));
+        } catch (ApiException e) {
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage());
             throw new ApiException("No se pudo registrar al author", HttpStatus.INTERNAL_SERVER_ERROR);
         }
-        return affectedRows;
+        return 1;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#authorId")
     @Transactional
     public IAuthorProjection updateAuthor(Long authorId, UpdateAuthorDTO authorDTO) {
         return this.authorRepository.findAuthorById(authorId)
                 .map(authorProjectionDB -> {
-                    Author author = this.modelMapper.map(authorDTO, Author.class);
-                    author.setId(authorId);
+                    Author author = AuthorMapper.toAuthor(authorId, authorDTO);
+                    if (!Objects.equals(authorProjectionDB.getFirstName(), author.getFirstName()) ||
+                        !Objects.equals(authorProjectionDB.getLastName(), author.getLastName())) {
+                        this.cacheService.evictBooksOfAuthor(authorId);
+                        this.bookRepository.incrementVersionOfBooksByAuthorIds(List.of(authorId));
+                    }
                     return author;
                 })
-                .map(this.authorRepository::updateAuthor)
+                .map(author -> {
+                    Integer affectedRows = this.authorRepository.updateAuthor(author);
+                    this.eventPublisher.publishEvent(AuthorChangedEvent.saved(author));
+                    return affectedRows;
+                })
                 .map(affectedRows -> this.authorRepository.findAuthorById(authorId).orElseThrow(() -> new ApiException("No se pudo encontrar al author actualizado", HttpStatus.NOT_FOUND)))
                 .orElseThrow(() -> new ApiException("No existe el author para actualizar", HttpStatus.NOT_FOUND));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#authorId")
+    @Transactional
+    public void patchAuthor(Long authorId, UpdateAuthorDTO authorDTO) {
+        Author author = AuthorMapper.toAuthor(authorId, authorDTO);
+        boolean namesChanged = author.getFirstName() != null || author.getLastName() != null;
+        if (!namesChanged && author.getBirthdate() == null) {
+            throw new ApiException("Debe indicar al menos un campo para actualizar", HttpStatus.BAD_REQUEST);
+        }
+
+        if (this.authorRepository.patchAuthor(author) == 0) {
+            throw new ApiException("No existe el author para actualizar", HttpStatus.NOT_FOUND);
+        }
+
+        if (namesChanged) {
+            this.cacheService.evictBooksOfAuthor(authorId);
+            this.bookRepository.incrementVersionOfBooksByAuthorIds(List.of(authorId));
+            this.eventPublisher.publishEvent(AuthorChangedEvent.saved(author));
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS_CACHE, key = "#authorId")
     @Transactional
     public Optional<Boolean> deleteAuthorById(Long authorId) {
-        Optional<Boolean> existOptional = this.bookAuthorRepository.existsBookAuthorByAuthorId(authorId);
+        this.cacheService.evictBooksOfAuthor(authorId);
+        this.bookRepository.incrementVersionOfBooksByAuthorIds(List.of(authorId));
+        this.bookAuthorRepository.deleteBookAuthorByAuthorId(authorId);
 
-        if (existOptional.isPresent()) {
-            this.bookAuthorRepository.deleteBookAuthorByAuthorId(authorId);
+        if (this.authorRepository.deleteAuthorById(authorId) == 0) {
+            throw new ApiException("Author no encontrado para su eliminación", HttpStatus.NOT_FOUND);
         }
 
-        return Optional.ofNullable(this.authorRepository.findAuthorById(authorId)
-                .map(authorProjectionDB -> {
-                    this.authorRepository.deleteAuthorById(authorId);
-                    return true;
-                })
-                .orElseThrow(() -> new ApiException("Author no encontrado para su eliminación", HttpStatus.NOT_FOUND)));
+        this.eventPublisher.publishEvent(AuthorChangedEvent.deleted(authorId));
+        return Optional.of(true);
+    }
+
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteAuthorsByIds(List<Long> authorIds) {
+        List<Long> ids = MultiGetDTO.distinctIds(authorIds, this.bulkDeleteMaxIds);
+        List<Long> existingIds = this.authorRepository.findExistingAuthorIds(ids);
+        if (existingIds.isEmpty()) {
+            return new BulkDeleteResultDTO(0, 0, ids);
+        }
+
+        this.cacheService.evictBooksOfAuthors(existingIds);
+        this.bookRepository.incrementVersionOfBooksByAuthorIds(existingIds);
+        int linksDeleted = this.bookAuthorRepository.deleteBookAuthorsByAuthorIds(existingIds);
+        int deleted = this.authorRepository.deleteAuthorsByIds(existingIds);
+
+        this.cacheService.evictAuthors(existingIds);
+        existingIds.forEach(id -> this.eventPublisher.publishEvent(AuthorChangedEvent.deleted(id)));
+
+        Set<Long> existing = new HashSet<>(existingIds);
+        List<Long> notFoundIds = ids.stream().filter(id -> !existing.contains(id)).toList();
+        return new BulkDeleteResultDTO(deleted, linksDeleted, notFoundIds);
     }
 
     //----------- Se trabajaron con JpaSpecificationExecutor y Specification (API Criteria) ----------------------------
     @Override
     public List<IAuthorProjection> findAllAuthorWithSpecification(AuthorSpecification authorSpecification) {
-        return this.authorRepository.findAll(authorSpecification);
+        AuthorRequestParam key = new AuthorRequestParam(authorSpecification.getQ(), authorSpecification.getBirthdate());
+        return this.specificationFlights.execute(key, () -> this.readOnly(() -> {
+            authorSpecification.setCandidateIds(this.findCandidateIds(authorSpecification.getQ()));
+            return this.authorRepository.findAll(authorSpecification);
+        }));
     }
 
     @Override
-    public List<IAuthorProjection> findAllAuthorWithSpecs(Specification<IAuthorProjection> authorSpecs) {
-        return this.authorRepository.findAll(authorSpecs);
+    public List<IAuthorProjection> findAllAuthorWithSpecs(AuthorRequestParam authorRequestParam) {
+        return this.specsFlights.execute(authorRequestParam,
+                () -> this.readOnly(() -> this.authorRepository.findAll(this.toSpecs(authorRequestParam))));
     }
 
     @Override
-    public Page<IAuthorProjection> findAllToPage(Specification<IAuthorProjection> authorSpecs, Pageable pageable) {
-        return this.authorRepository.findAll(authorSpecs, pageable);
+    public Page<IAuthorProjection> findAllToPage(AuthorRequestParam authorRequestParam, Pageable pageable) {
+        return this.pageFlights.execute(new PageKey(authorRequestParam, pageable),
+                () -> this.readOnly(() -> this.authorRepository.findAll(this.toSpecs(authorRequestParam), pageable)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceDTO<Author> findAllToSlice(AuthorRequestParam authorRequestParam, Pageable pageable, boolean withApproximateTotal) {
+        List<Author> authors = this.authorRepository.findAllWithoutCount(this.toSpecs(authorRequestParam), pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+
+        boolean hasNext = authors.size() > pageable.getPageSize();
+        List<Author> content = hasNext ? authors.subList(0, pageable.getPageSize()) : authors;
+
+        Long approximateTotal = null;
+        long seen = pageable.getOffset() + content.size();
+        if (withApproximateTotal && !hasNext) {
+            approximateTotal = seen;
+        } else if (withApproximateTotal) {
+            approximateTotal = this.findApproximateTotal(authorRequestParam).map(total -> Math.max(total, seen + 1)).orElse(null);
+        }
+        return new SliceDTO<>(content, pageable.getPageNumber(), content.size(), hasNext, approximateTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Author> findAllToCursorPage(AuthorRequestParam authorRequestParam, AuthorCursor cursor,
+                                                     Sort.Order order, int pageSize) {
+        if (pageSize < 1) {
+            throw new ApiException("El tamaño de página debe ser mayor a cero", HttpStatus.BAD_REQUEST);
+        }
+
+        Sort.Order pageOrder = cursor != null ? cursor.order() : order;
+        if (!AuthorCursor.SORTABLE_PROPERTIES.contains(pageOrder.getProperty())) {
+            throw new ApiException("No se puede paginar por cursor ordenando por " + pageOrder.getProperty(), HttpStatus.BAD_REQUEST);
+        }
+
+        Sort sort = Sort.by(pageOrder);
+        if (!"id".equals(pageOrder.getProperty())) {
+            sort = sort.and(Sort.by(pageOrder.getDirection(), "id"));
+        }
+
+        List<Author> authors = this.authorRepository.findAllWithoutCount(this.toSpecs(authorRequestParam).and(AuthorSpecs.isAfterCursor(cursor)),
+                sort, 0, pageSize + 1);
+
+        boolean hasNext = authors.size() > pageSize;
+        List<Author> content = hasNext ? authors.subList(0, pageSize) : authors;
+        String nextCursor = hasNext ? AuthorCursor.of(pageOrder, content.get(content.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Dos consultas: los ids de la página por keyset sobre la PK de books_authors y luego los books con sus
+     * autores por IN, por eso el tamaño de página está limitado igual que en las búsquedas por ids.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IBookProjection> findBooksByAuthorId(Long authorId, BookCursor cursor, int pageSize) {
+        if (pageSize < 1 || pageSize > this.multiGetMaxIds) {
+            throw new ApiException("El tamaño de página debe estar entre 1 y %d".formatted(this.multiGetMaxIds), HttpStatus.BAD_REQUEST);
+        }
+        if (this.authorRepository.findVersionById(authorId).isEmpty()) {
+            throw new ApiException("No existe el author buscado", HttpStatus.NOT_FOUND);
+        }
+
+        Long afterBookId = cursor == null ? 0L : cursor.bookId();
+        List<Long> bookIds = this.bookAuthorRepository.findBookIdsByAuthorIdAfter(authorId, afterBookId, pageSize + 1);
+
+        boolean hasNext = bookIds.size() > pageSize;
+        List<Long> pageBookIds = hasNext ? bookIds.subList(0, pageSize) : bookIds;
+        List<IBookProjection> content = pageBookIds.isEmpty() ? List.of() :
+                this.bookAuthorRepository.findBookAuthorsByBookIds(pageBookIds).stream()
+                        .sorted(Comparator.comparing(IBookProjection::getId))
+                        .toList();
+        String nextCursor = hasNext ? new BookCursor(pageBookIds.get(pageBookIds.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAuthors(AuthorRequestParam authorRequestParam, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = this.objectMapper.writerFor(Author.class);
+        try (Stream<Author> authors = this.authorRepository.streamAll(this.toSpecs(authorRequestParam), this.exportFetchSize)) {
+            Iterator<Author> iterator = authors.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * No espera al COUNT(*): si el total aún no se calculó devuelve Optional.empty() y el cálculo continúa
+     * en segundo plano para las siguientes peticiones.
+     */
+    private Optional<Long> findApproximateTotal(AuthorRequestParam authorRequestParam) {
+        CompletableFuture<Long> total = this.approximateTotals.get(authorRequestParam);
+        if (!total.isDone() || total.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(total.join());
+    }
+
+    private Specification<IAuthorProjection> toSpecs(AuthorRequestParam authorRequestParam) {
+        Specification<IAuthorProjection> condition1 = AuthorSpecs.isEqualToBirthdate(authorRequestParam.birthdate());
+        Specification<IAuthorProjection> condition2 = AuthorSpecs.fullNameContainsTheSearchedTerm(authorRequestParam.q());
+        Specification<IAuthorProjection> condition3 = AuthorSpecs.idIsIn(this.findCandidateIds(authorRequestParam.q()));
+        return condition1.and(condition2).and(condition3);
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        return this.readOnlyTransaction.execute(status -> query.get());
+    }
+
+    /**
+     * @return ids candidatos del índice de trigramas para el término buscado, null si la búsqueda debe
+     * hacerse solo con LIKE
+     */
+    private Set<Long> findCandidateIds(String q) {
+        return this.authorNameIndex.findCandidateIds(q).orElse(null);
+    }
+
+    private record PageKey(AuthorRequestParam authorRequestParam, Pageable pageable) {
     }
 }
@@ -1,25 +1,46 @@
 package dev.magadiflo.springbootwebcrud.service.impl;
 
+import dev.magadiflo.springbootwebcrud.configuration.CacheConfig;
 import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorSummaryDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.BookWithAuthorsDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteResultDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.MultiGetDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.RegisterBookDTO;
+import dev.magadiflo.springbootwebcrud.model.mapper.BookMapper;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorIdRowProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorRowProjection;
 import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
-import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
 import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
-import dev.magadiflo.springbootwebcrud.persistence.entity.BookAuthor;
-import dev.magadiflo.springbootwebcrud.persistence.entity.BookAuthorPK;
 import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
 import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
 import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
 import dev.magadiflo.springbootwebcrud.service.IBookService;
+import dev.magadiflo.springbootwebcrud.service.ICacheService;
+import dev.magadiflo.springbootwebcrud.service.event.BookChangedEvent;
+import dev.magadiflo.springbootwebcrud.service.support.SingleFlight;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -29,14 +50,66 @@ public class BookServiceImpl implements IBookService {
     private final IBookRepository bookRepository;
     private final IAuthorRepository authorRepository;
     private final IBookAuthorRepository bookAuthorRepository;
-    private final ModelMapper modelMapper;
+    private final ICacheService cacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
+    @Value("${app.multiGet.maxIds:100}")
+    private int multiGetMaxIds;
+
+    @Value("${app.bulkDelete.maxIds:1000}")
+    private int bulkDeleteMaxIds;
+
+    private final SingleFlight<Long, IBookProjection> bookByIdFlights = new SingleFlight<>();
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void initReadOnlyTransaction() {
+        this.readOnlyTransaction = new TransactionTemplate(this.transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Sin @Transactional: las peticiones concurrentes por el mismo book que no lo encuentran en la caché
+     * comparten una sola consulta con GROUP_CONCAT (ver SingleFlight), que abre su transacción readOnly
+     * dentro del grupo para ir a una réplica.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#bookId")
     public IBookProjection findBookAuthorByBookId(Long bookId) {
-        return this.bookAuthorRepository.findBookAuthorByBookId(bookId)
-                .orElseThrow(() -> new ApiException("No hay relación entre Book y Author con el id del book proporcionado",
-                        HttpStatus.NOT_FOUND));
+        return this.bookByIdFlights.execute(bookId, () -> this.readOnlyTransaction.execute(status ->
+                this.bookAuthorRepository.findBookAuthorByBookId(bookId)
+                        .orElseThrow(() -> new ApiException("No hay relación entre Book y Author con el id del book proporcionado",
+                                HttpStatus.NOT_FOUND))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findBookVersion(Long bookId) {
+        return this.bookRepository.findVersionById(bookId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MultiGetDTO<IBookProjection> findBookAuthorsByBookIds(List<Long> bookIds) {
+        List<Long> ids = MultiGetDTO.distinctIds(bookIds, this.multiGetMaxIds);
+        return MultiGetDTO.of(ids, this.bookAuthorRepository.findBookAuthorsByBookIds(ids), IBookProjection::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookWithAuthorsDTO> findAllBooks(Pageable pageable) {
+        Slice<Book> books = this.bookRepository.findAllBy(pageable);
+        if (!books.hasContent()) {
+            return books.map(book -> BookMapper.toBookWithAuthorsDTO(book, List.of()));
+        }
+
+        List<Long> bookIds = books.map(Book::getId).toList();
+        Map<Long, List<AuthorSummaryDTO>> authorsByBookId = this.bookAuthorRepository.findAuthorRowsByBookIds(bookIds).stream()
+                .collect(Collectors.groupingBy(IBookAuthorRowProjection::getBookId,
+                        Collectors.mapping(row -> new AuthorSummaryDTO(row.getAuthorId(), row.getFullName()), Collectors.toList())));
+
+        return books.map(book -> BookMapper.toBookWithAuthorsDTO(book, authorsByBookId.getOrDefault(book.getId(), List.of())));
     }
 
     /**
@@ -46,9 +119,7 @@ public class BookServiceImpl implements IBookService {
     @Override
     @Transactional
     public Long saveBookWithAuthorsIdList(RegisterBookDTO registerBookDTO) {
-        this.modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-
-        Book bookRequest = this.modelMapper.map(registerBookDTO, Book.class);
+        Book bookRequest = BookMapper.toBook(registerBookDTO);
         Book bookDB = this.bookRepository.save(bookRequest);
 
         if (registerBookDTO.authorIdList() != null && !registerBookDTO.authorIdList().isEmpty()) {
@@ -58,43 +129,68 @@ public class BookServiceImpl implements IBookService {
                 throw new ApiException("Hay id de autores que no están registrados en la BD", HttpStatus.NOT_FOUND);
             }
 
-            registerBookDTO.authorIdList().stream().forEach(authorId -> {
-                Author author = Author.builder()
-                        .id(authorId)
-                        .build();
-
-                Book book = Book.builder()
-                        .id(bookDB.getId())
-                        .build();
-
-                BookAuthorPK bookAuthorPK = BookAuthorPK.builder()
-                        .author(author)
-                        .book(book)
-                        .build();
-
-                BookAuthor bookAuthor = BookAuthor.builder()
-                        .id(bookAuthorPK)
-                        .build();
-
-                this.bookAuthorRepository.save(bookAuthor);
-            });
+            this.bookAuthorRepository.saveBookAuthors(bookDB.getId(), registerBookDTO.authorIdList());
         }
 
+        this.eventPublisher.publishEvent(BookChangedEvent.saved(bookDB, registerBookDTO.authorIdList()));
         return bookDB.getId();
     }
 
+    /**
+     * El book y sus autores se leen (y bloquean) con una sola consulta antes de eliminarlos, para actualizar
+     * los contadores del catálogo (ver BookChangedEvent).
+     */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#bookId")
     @Transactional
     public Optional<Boolean> deleteBookById(Long bookId) {
-        return Optional.ofNullable(this.bookRepository.findById(bookId)
-                .map(bookDB -> {
-                    Optional<Boolean> existsOptional = this.bookAuthorRepository.existsBookAuthorByBookId(bookDB.getId());
-                    if (existsOptional.isPresent()) {
-                        this.bookAuthorRepository.deleteBookAuthorByBookId(bookDB.getId());
-                    }
-                    this.bookRepository.delete(bookDB);
-                    return true;
+        List<BookChangedEvent> events = this.findBooksToDelete(List.of(bookId));
+        if (events.isEmpty()) {
+            throw new ApiException("No existe el book con id a eliminar", HttpStatus.NOT_FOUND);
+        }
+
+        this.bookAuthorRepository.deleteBookAuthorByBookId(bookId);
+        this.bookRepository.deleteBooksByIds(List.of(bookId));
+        events.forEach(this.eventPublisher::publishEvent);
+        return Optional.of(true);
+    }
+
+    @Override
+    @Transactional
+    public BulkDeleteResultDTO deleteBooksByIds(List<Long> bookIds) {
+        List<Long> ids = MultiGetDTO.distinctIds(bookIds, this.bulkDeleteMaxIds);
+        List<BookChangedEvent> events = this.findBooksToDelete(ids);
+        if (events.isEmpty()) {
+            return new BulkDeleteResultDTO(0, 0, ids);
+        }
+
+        List<Long> existingIds = events.stream().map(BookChangedEvent::bookId).toList();
+        int linksDeleted = this.bookAuthorRepository.deleteBookAuthorsByBookIds(existingIds);
+        int deleted = this.bookRepository.deleteBooksByIds(existingIds);
+        this.cacheService.evictBooks(existingIds);
+        events.forEach(this.eventPublisher::publishEvent);
+
+        Set<Long> existing = new HashSet<>(existingIds);
+        List<Long> notFoundIds = ids.stream().filter(id -> !existing.contains(id)).toList();
+        return new BulkDeleteResultDTO(deleted, linksDeleted, notFoundIds);
+    }
+
+    /**
+     * @return un evento DELETED por cada book que existe, en el orden de sus ids
+     */
+    private List<BookChangedEvent> findBooksToDelete(List<Long> ids) {
+        Map<Long, List<IBookAuthorIdRowProjection>> rowsByBookId = this.bookRepository.findBooksToDeleteForUpdate(ids).stream()
+                .collect(Collectors.groupingBy(IBookAuthorIdRowProjection::getBookId, LinkedHashMap::new, Collectors.toList()));
+        return rowsByBookId.values().stream()
+                .map(rows -> {
+                    IBookAuthorIdRowProjection row = rows.get(0);
+                    Book book = Book.builder()
+                            .id(row.getBookId())
+                            .publicationDate(row.getPublicationDate())
+                            .onlineAvailability(row.getOnlineAvailability())
+                            .build();
+                    return BookChangedEvent.deleted(book, rows.stream().map(IBookAuthorIdRowProjection::getAuthorId).toList());
                 })
-                .orElseThrow(() -> new ApiException("No existe el book con id a eliminar", HttpStatus.NOT_FOUND)));
+                .toList();
     }
 }
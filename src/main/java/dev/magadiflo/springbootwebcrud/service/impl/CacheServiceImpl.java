@@ -0,0 +1,70 @@
+package dev.magadiflo.springbootwebcrud.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.magadiflo.springbootwebcrud.configuration.CacheConfig;
+import dev.magadiflo.springbootwebcrud.model.dto.CacheStatsDTO;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.service.ICacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class CacheServiceImpl implements ICacheService {
+
+    private final CacheManager cacheManager;
+    private final IBookAuthorRepository bookAuthorRepository;
+
+    @Override
+    public List<CacheStatsDTO> findCacheStats() {
+        return this.cacheManager.getCacheNames().stream()
+                .map(this.cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(CacheServiceImpl::toCacheStats)
+                .toList();
+    }
+
+    @Override
+    public void evictBooksOfAuthor(Long authorId) {
+        this.evictBooks(this.bookAuthorRepository.findBookIdsByAuthorId(authorId));
+    }
+
+    @Override
+    public void evictBooksOfAuthors(List<Long> authorIds) {
+        if (!authorIds.isEmpty()) {
+            this.evictBooks(this.bookAuthorRepository.findBookIdsByAuthorIds(authorIds));
+        }
+    }
+
+    @Override
+    public void evictAuthors(Collection<Long> authorIds) {
+        this.evict(CacheConfig.AUTHORS_CACHE, authorIds);
+    }
+
+    @Override
+    public void evictBooks(Collection<Long> bookIds) {
+        this.evict(CacheConfig.BOOKS_CACHE, bookIds);
+    }
+
+    private void evict(String cacheName, Collection<Long> ids) {
+        Cache cache = Objects.requireNonNull(this.cacheManager.getCache(cacheName));
+        ids.forEach(cache::evict);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CacheStatsDTO toCacheStats(Cache cache) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatsDTO(cache.getName(), nativeCache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
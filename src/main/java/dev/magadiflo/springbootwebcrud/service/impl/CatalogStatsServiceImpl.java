@@ -0,0 +1,40 @@
+package dev.magadiflo.springbootwebcrud.service.impl;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorBookCountDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.CatalogStatsDTO;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.service.ICatalogStatsService;
+import dev.magadiflo.springbootwebcrud.service.stats.CatalogStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class CatalogStatsServiceImpl implements ICatalogStatsService {
+
+    private final CatalogStatistics catalogStatistics;
+    private final IAuthorRepository authorRepository;
+
+    @Override
+    public CatalogStatsDTO findCatalogStats() {
+        return this.catalogStatistics.stats();
+    }
+
+    /**
+     * Solo se consulta la versión del author (por PK) para saber si existe; la cantidad de books sale del
+     * contador.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AuthorBookCountDTO findBookCountOfAuthor(Long authorId) {
+        if (this.authorRepository.findVersionById(authorId).isEmpty()) {
+            throw new ApiException("No existe el author buscado", HttpStatus.NOT_FOUND);
+        }
+        return new AuthorBookCountDTO(authorId, this.catalogStatistics.countBooksOfAuthor(authorId));
+    }
+}
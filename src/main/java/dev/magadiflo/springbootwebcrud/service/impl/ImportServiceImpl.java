@@ -0,0 +1,329 @@
+package dev.magadiflo.springbootwebcrud.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.model.dto.ImportBatchSummaryDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.ImportSummaryDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.RegisterAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.RegisterBookDTO;
+import dev.magadiflo.springbootwebcrud.model.enums.ImportFormat;
+import dev.magadiflo.springbootwebcrud.model.mapper.AuthorMapper;
+import dev.magadiflo.springbootwebcrud.model.mapper.BookMapper;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import dev.magadiflo.springbootwebcrud.service.IImportService;
+import dev.magadiflo.springbootwebcrud.service.event.AuthorChangedEvent;
+import dev.magadiflo.springbootwebcrud.service.event.BookChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class ImportServiceImpl implements IImportService {
+
+    private static final int MAX_ERRORS_PER_BATCH = 10;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final IAuthorRepository authorRepository;
+    private final IBookRepository bookRepository;
+    private final IBookAuthorRepository bookAuthorRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.batchSize:500}")
+    private int batchSize;
+
+    @Value("${app.import.maxBatchSummaries:20}")
+    private int maxBatchSummaries;
+
+    @Override
+    public ImportSummaryDTO importAuthors(InputStream inputStream, ImportFormat format) {
+        return this.importRows(inputStream, format, RegisterAuthorDTO.class, ImportServiceImpl::authorFromCsv,
+                ImportServiceImpl::validateAuthor, this::writeAuthors);
+    }
+
+    @Override
+    public ImportSummaryDTO importBooks(InputStream inputStream, ImportFormat format) {
+        return this.importRows(inputStream, format, RegisterBookDTO.class, ImportServiceImpl::bookFromCsv,
+                ImportServiceImpl::validateBook, this::writeBooks);
+    }
+
+    /**
+     * Lee el contenido línea por línea, acumulando como máximo batchSize filas en memoria. Cada lote
+     * se escribe en su propia transacción, si falla se revierte solo ese lote. De los lotes ya escritos
+     * solo se guardan los totales y el resumen de los últimos maxBatchSummaries.
+     */
+    private <T> ImportSummaryDTO importRows(InputStream inputStream, ImportFormat format, Class<T> type,
+                                            Function<String[], T> csvMapper, Function<T, String> validator,
+                                            ToIntFunction<Batch<T>> writer) {
+        ObjectReader jsonReader = this.objectMapper.readerFor(type);
+        Deque<ImportBatchSummaryDTO> summaries = new ArrayDeque<>(this.maxBatchSummaries);
+        Batch<T> batch = new Batch<>(1);
+        long accepted = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == ImportFormat.CSV && lineNumber == 1)) {
+                    continue;
+                }
+
+                batch.add(lineNumber, line, format, jsonReader, csvMapper, validator);
+
+                if (batch.total == this.batchSize) {
+                    ImportBatchSummaryDTO summary = this.writeBatch(batch, writer);
+                    this.keepSummary(summaries, summary);
+                    accepted += summary.accepted();
+                    rejected += summary.rejected();
+                    batch = new Batch<>(batch.number + 1);
+                }
+            }
+        } catch (IOException e) {
+            log.error(e.getMessage());
+            throw new ApiException("No se pudo leer el contenido a importar", HttpStatus.BAD_REQUEST);
+        }
+
+        int totalBatches = batch.number - 1;
+        if (batch.total > 0) {
+            ImportBatchSummaryDTO summary = this.writeBatch(batch, writer);
+            this.keepSummary(summaries, summary);
+            accepted += summary.accepted();
+            rejected += summary.rejected();
+            totalBatches = batch.number;
+        }
+
+        return new ImportSummaryDTO(accepted, rejected, totalBatches, List.copyOf(summaries));
+    }
+
+    private void keepSummary(Deque<ImportBatchSummaryDTO> summaries, ImportBatchSummaryDTO summary) {
+        if (this.maxBatchSummaries <= 0) {
+            return;
+        }
+        if (summaries.size() == this.maxBatchSummaries) {
+            summaries.removeFirst();
+        }
+        summaries.addLast(summary);
+    }
+
+    private <T> ImportBatchSummaryDTO writeBatch(Batch<T> batch, ToIntFunction<Batch<T>> writer) {
+        int accepted = 0;
+        if (!batch.rows.isEmpty()) {
+            try {
+                accepted = Objects.requireNonNull(this.transactionTemplate.execute(status -> writer.applyAsInt(batch)));
+            } catch (Exception e) {
+                log.error(e.getMessage());
+                batch.error("Lote revertido, no se pudo registrar: " + e.getClass().getSimpleName());
+            }
+        }
+        return new ImportBatchSummaryDTO(batch.number, batch.fromLine, batch.toLine, accepted,
+                batch.total - accepted, batch.errors);
+    }
+
+    private int writeAuthors(Batch<RegisterAuthorDTO> batch) {
+        List<Author> authors = batch.rows.stream()
+                .map(row -> AuthorMapper.toAuthor(row.value()))
+                .toList();
+        List<Long> ids = this.authorRepository.insertAuthors(authors);
+        authors.forEach(author -> this.eventPublisher.publishEvent(AuthorChangedEvent.saved(author)));
+        return ids.size();
+    }
+
+    /**
+     * Igual que writeAuthors, el número de sentencias no depende del tamaño del lote: la validación de los
+     * autores, un batch JDBC con los books y otro con sus relaciones en books_authors.
+     */
+    private int writeBooks(Batch<RegisterBookDTO> batch) {
+        List<Long> authorIds = batch.rows.stream()
+                .map(row -> row.value().authorIdList())
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+        Set<Long> existingIds = authorIds.isEmpty() ? Set.of() : new HashSet<>(this.authorRepository.findExistingAuthorIds(authorIds));
+
+        List<Book> books = new ArrayList<>(batch.rows.size());
+        List<List<Long>> booksAuthorIds = new ArrayList<>(batch.rows.size());
+        for (Row<RegisterBookDTO> row : batch.rows) {
+            RegisterBookDTO registerBookDTO = row.value();
+            List<Long> bookAuthorIds = registerBookDTO.authorIdList() == null ? List.of() : registerBookDTO.authorIdList();
+            List<Long> missingIds = bookAuthorIds.stream().filter(id -> !existingIds.contains(id)).toList();
+            if (!missingIds.isEmpty()) {
+                batch.reject(row.line(), "Hay id de autores que no están registrados en la BD " + missingIds);
+                continue;
+            }
+            books.add(BookMapper.toBook(registerBookDTO));
+            booksAuthorIds.add(bookAuthorIds);
+        }
+
+        List<Long> ids = this.bookRepository.insertBooks(books);
+        Map<Long, List<Long>> authorIdsByBookId = new HashMap<>();
+        for (int i = 0; i < books.size(); i++) {
+            authorIdsByBookId.put(ids.get(i), booksAuthorIds.get(i));
+            this.eventPublisher.publishEvent(BookChangedEvent.saved(books.get(i), booksAuthorIds.get(i)));
+        }
+        this.bookAuthorRepository.insertBookAuthors(authorIdsByBookId);
+        return ids.size();
+    }
+
+    private static String validateAuthor(RegisterAuthorDTO authorDTO) {
+        if (!StringUtils.hasText(authorDTO.firstName()) || !StringUtils.hasText(authorDTO.lastName())) {
+            return "El nombre y apellido del author son obligatorios";
+        }
+        return null;
+    }
+
+    private static String validateBook(RegisterBookDTO bookDTO) {
+        if (!StringUtils.hasText(bookDTO.title())) {
+            return "El título del book es obligatorio";
+        }
+        return null;
+    }
+
+    /**
+     * Columnas: firstName,lastName,birthdate(dd/MM/yyyy)
+     */
+    private static RegisterAuthorDTO authorFromCsv(String[] columns) {
+        return new RegisterAuthorDTO(column(columns, 0), column(columns, 1), parseDate(column(columns, 2)));
+    }
+
+    /**
+     * Columnas: title,publicationDate(dd/MM/yyyy),onlineAvailability,authorIdList(ids separados por ';')
+     */
+    private static RegisterBookDTO bookFromCsv(String[] columns) {
+        String authorIds = column(columns, 3);
+        List<Long> authorIdList = authorIds == null ? List.of() : Arrays.stream(authorIds.split(";"))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .map(Long::valueOf)
+                .toList();
+        return new RegisterBookDTO(column(columns, 0), parseDate(column(columns, 1)),
+                Boolean.valueOf(column(columns, 2)), authorIdList);
+    }
+
+    private static String column(String[] columns, int index) {
+        if (index >= columns.length || !StringUtils.hasText(columns[index])) {
+            return null;
+        }
+        return columns[index].trim();
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value == null ? null : LocalDate.parse(value, DATE_FORMATTER);
+    }
+
+    /**
+     * Separa una línea CSV respetando los campos entre comillas dobles ("a, b") y las comillas escapadas ("").
+     */
+    private static String[] splitCsvLine(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        columns.add(current.toString());
+        return columns.toArray(new String[0]);
+    }
+
+    private record Row<T>(long line, T value) {
+    }
+
+    private static final class Batch<T> {
+        private final int number;
+        private final List<Row<T>> rows = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private long fromLine;
+        private long toLine;
+        private int total;
+
+        private Batch(int number) {
+            this.number = number;
+        }
+
+        private void add(long lineNumber, String line, ImportFormat format, ObjectReader jsonReader,
+                         Function<String[], T> csvMapper, Function<T, String> validator) {
+            if (this.total == 0) {
+                this.fromLine = lineNumber;
+            }
+            this.toLine = lineNumber;
+            this.total++;
+
+            T value;
+            try {
+                value = format == ImportFormat.NDJSON ? jsonReader.readValue(line) : csvMapper.apply(splitCsvLine(line));
+            } catch (JsonProcessingException e) {
+                this.reject(lineNumber, e.getOriginalMessage());
+                return;
+            } catch (RuntimeException e) {
+                this.reject(lineNumber, "Formato inválido: " + e.getMessage());
+                return;
+            }
+
+            String error = validator.apply(value);
+            if (error != null) {
+                this.reject(lineNumber, error);
+                return;
+            }
+            this.rows.add(new Row<>(lineNumber, value));
+        }
+
+        private void reject(long lineNumber, String reason) {
+            this.error("Línea %d: %s".formatted(lineNumber, reason));
+        }
+
+        private void error(String message) {
+            if (this.errors.size() < MAX_ERRORS_PER_BATCH) {
+                this.errors.add(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package dev.magadiflo.springbootwebcrud.service.search;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecs;
+import dev.magadiflo.springbootwebcrud.service.event.AuthorChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Índice de trigramas en memoria sobre first_name y last_name de los autores. Un LIKE '%q%' no puede usar
+ * índices de la BD, así que se usa este índice para reducir la búsqueda a un conjunto de ids candidatos.
+ * <p>
+ * Los candidatos son un superconjunto de los autores indexados que cumplen el LIKE (los nombres se normalizan
+ * a minúsculas y sin tildes, y los que no quedan en ASCII se devuelven siempre como candidatos). La consulta
+ * sigue aplicando el LIKE sobre esos ids, así que el resultado coincide con el de la búsqueda sin índice
+ * mientras el índice refleje la tabla. Los cambios hechos por esta aplicación llegan con AuthorChangedEvent
+ * después del commit; para los que no pasan por ella (otra instancia, SQL directo) hay dos resguardos:
+ * <ul>
+ *     <li>Marca de agua: si el mayor id de la BD supera al mayor id indexado, se busca solo con LIKE y se
+ *     cargan en segundo plano los autores que faltan.</li>
+ *     <li>Las actualizaciones y eliminaciones externas no mueven esa marca, se corrigen en la reconstrucción
+ *     periódica (app.search.trigramIndex.rebuildInterval).</li>
+ * </ul>
+ * Cuando el índice no puede responder (q con menos de 3 caracteres, con comodines, demasiados candidatos o
+ * la BD por delante del índice) se devuelve Optional.empty() y la búsqueda se hace solo con LIKE.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class AuthorNameIndex {
+
+    private static final int GRAM = 3;
+
+    private final IAuthorRepository authorRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean loadRunning = new AtomicBoolean();
+    private final Set<Long> changedWhileLoading = new HashSet<>();
+    private Entries entries = new Entries();
+    private boolean loading;
+    private volatile long maxIndexedId;
+    private volatile boolean ready;
+
+    @Value("${app.search.trigramIndex.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.trigramIndex.maxCandidates:1000}")
+    private int maxCandidates;
+
+    @Value("${app.export.fetchSize:1000}")
+    private int fetchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (this.enabled) {
+            Thread.ofVirtual().name("author-name-index").start(this::rebuild);
+        }
+    }
+
+    /**
+     * Carga el índice completo recorriendo la tabla authors con un cursor, en una estructura aparte que
+     * reemplaza a la actual al terminar; mientras tanto las búsquedas siguen usando la anterior (o solo LIKE
+     * en la primera carga). Los cambios que lleguen en ese tiempo se aplican a la actual y la carga no los
+     * sobrescribe.
+     */
+    @Scheduled(fixedDelayString = "${app.search.trigramIndex.rebuildInterval:PT30M}",
+            initialDelayString = "${app.search.trigramIndex.rebuildInterval:PT30M}")
+    public void rebuild() {
+        if (!this.enabled || !this.loadRunning.compareAndSet(false, true)) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            Entries rebuilt = new Entries();
+            long maxLoadedId = this.load(null, rebuilt);
+
+            this.lock.writeLock().lock();
+            try {
+                this.changedWhileLoading.forEach(id -> rebuilt.copy(this.entries, id));
+                this.entries = rebuilt;
+                this.maxIndexedId = Math.max(this.maxIndexedId, maxLoadedId);
+                this.ready = true;
+                log.info("Índice de nombres de autores construido: {} autores, {} trigramas en {} ms",
+                        rebuilt.trigramsById.size() + rebuilt.unindexedIds.size(), rebuilt.postings.size(),
+                        System.currentTimeMillis() - start);
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            log.error("No se pudo construir el índice de nombres de autores, se buscará solo con LIKE: {}", e.getMessage());
+        } finally {
+            this.endLoad();
+        }
+    }
+
+    /**
+     * Si el evento es parcial (PATCH de solo uno de los nombres) se vuelven a leer los nombres de la BD.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (!this.enabled) {
+            return;
+        }
+
+        Optional<IAuthorProjection> current = event.isPartial() ? this.authorRepository.findAuthorById(event.authorId()) : Optional.empty();
+
+        this.lock.writeLock().lock();
+        try {
+            if (this.loading) {
+                this.changedWhileLoading.add(event.authorId());
+            }
+            if (event.type() == AuthorChangedEvent.Type.DELETED) {
+                this.entries.remove(event.authorId());
+                return;
+            }
+            if (event.isPartial()) {
+                current.ifPresentOrElse(author -> this.entries.put(author.getId(), author.getFirstName(), author.getLastName()),
+                        () -> this.entries.remove(event.authorId()));
+            } else {
+                this.entries.put(event.authorId(), event.firstName(), event.lastName());
+            }
+            this.maxIndexedId = Math.max(this.maxIndexedId, event.authorId());
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Se llama dentro de la transacción de la búsqueda, así el mayor id se lee de la misma BD (y vista) que
+     * la consulta con LIKE.
+     *
+     * @param q, término buscado con LIKE '%q%' en first_name o last_name
+     * @return ids candidatos, o Optional.empty() si la búsqueda debe hacerse sin el índice
+     */
+    public Optional<Set<Long>> findCandidateIds(String q) {
+        if (!this.enabled || !this.ready || !StringUtils.hasText(q) || hasLikeWildcards(q)) {
+            return Optional.empty();
+        }
+
+        String term = normalize(q);
+        if (term.length() < GRAM || !isAscii(term)) {
+            return Optional.empty();
+        }
+
+        long maxId = this.authorRepository.findMaxId().orElse(0L);
+        if (maxId > this.maxIndexedId) {
+            log.debug("La BD tiene autores con id hasta {}, el índice hasta {}: se busca solo con LIKE", maxId, this.maxIndexedId);
+            this.startCatchUp();
+            return Optional.empty();
+        }
+        long[] termTrigrams = trigrams(term).distinct().sorted().toArray();
+
+        this.lock.readLock().lock();
+        try {
+            Entries current = this.entries;
+            LongList smallest = null;
+            for (long trigram : termTrigrams) {
+                LongList posting = current.postings.getOrDefault(trigram, LongList.EMPTY);
+                if (smallest == null || posting.size < smallest.size) {
+                    smallest = posting;
+                }
+            }
+
+            if (smallest.size + current.unindexedIds.size() > this.maxCandidates) {
+                return Optional.empty();
+            }
+
+            Set<Long> candidates = new HashSet<>(current.unindexedIds);
+            for (int i = 0; i < smallest.size; i++) {
+                long id = smallest.values[i];
+                if (containsAll(current.trigramsById.get(id), termTrigrams)) {
+                    candidates.add(id);
+                }
+            }
+            return Optional.of(candidates);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Carga en el índice actual los autores con id mayor a la marca de agua, en segundo plano y sin
+     * esperar a que termine. Si ya hay una carga en curso no hace nada.
+     */
+    private void startCatchUp() {
+        if (!this.loadRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("author-name-index").start(() -> {
+            try {
+                long fromId = this.maxIndexedId;
+                long maxLoadedId = this.load(fromId, this.entries);
+                this.lock.writeLock().lock();
+                try {
+                    this.maxIndexedId = Math.max(this.maxIndexedId, maxLoadedId);
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+                log.info("Índice de nombres de autores: cargados los autores con id mayor a {}", fromId);
+            } catch (RuntimeException e) {
+                log.error("No se pudieron cargar los autores nuevos en el índice de nombres: {}", e.getMessage());
+            } finally {
+                this.endLoad();
+            }
+        });
+    }
+
+    /**
+     * @param afterId, se cargan solo los autores con id mayor a este; null para cargarlos todos
+     * @param target,  estructura donde se cargan
+     * @return mayor id cargado, 0 si no se cargó ninguno
+     */
+    private long load(Long afterId, Entries target) {
+        this.lock.writeLock().lock();
+        try {
+            this.loading = true;
+            this.changedWhileLoading.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Long maxLoadedId = transactionTemplate.execute(status -> {
+            try (Stream<Author> authors = this.authorRepository.streamAll(AuthorSpecs.idIsGreaterThan(afterId), this.fetchSize)) {
+                return authors.mapToLong(author -> {
+                    this.putIfUnchanged(target, author);
+                    return author.getId();
+                }).max().orElse(0L);
+            }
+        });
+        return maxLoadedId == null ? 0L : maxLoadedId;
+    }
+
+    private void endLoad() {
+        this.lock.writeLock().lock();
+        try {
+            this.loading = false;
+            this.changedWhileLoading.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        this.loadRunning.set(false);
+    }
+
+    private void putIfUnchanged(Entries target, Author author) {
+        this.lock.writeLock().lock();
+        try {
+            if (!this.changedWhileLoading.contains(author.getId())) {
+                target.put(author.getId(), author.getFirstName(), author.getLastName());
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean containsAll(long[] sortedTrigrams, long[] termTrigrams) {
+        if (sortedTrigrams == null) {
+            return false;
+        }
+        for (long trigram : termTrigrams) {
+            if (Arrays.binarySearch(sortedTrigrams, trigram) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Con LIKE, % y _ son comodines y \ es el carácter de escape por defecto de MySQL.
+     */
+    private static boolean hasLikeWildcards(String q) {
+        return q.indexOf('%') >= 0 || q.indexOf('_') >= 0 || q.indexOf('\\') >= 0;
+    }
+
+    /**
+     * Minúsculas y sin marcas diacríticas (é -> e, ñ -> n), aproximando una collation *_ai_ci.
+     */
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static LongStream trigrams(String value) {
+        return LongStream.range(0, Math.max(0, value.length() - GRAM + 1))
+                .map(i -> ((long) value.charAt((int) i) << 32) | ((long) value.charAt((int) i + 1) << 16) | value.charAt((int) i + 2));
+    }
+
+    /**
+     * Postings por trigrama y trigramas por id de los autores indexados, más los ids que no se pueden indexar.
+     * Se accede con el lock del índice.
+     */
+    private static final class Entries {
+        private final Map<Long, LongList> postings = new HashMap<>();
+        private final Map<Long, long[]> trigramsById = new HashMap<>();
+        private final Set<Long> unindexedIds = new HashSet<>();
+
+        private void put(Long id, String firstName, String lastName) {
+            this.remove(id);
+
+            String first = normalize(firstName == null ? "" : firstName);
+            String last = normalize(lastName == null ? "" : lastName);
+            if (!isAscii(first) || !isAscii(last)) {
+                this.unindexedIds.add(id);
+                return;
+            }
+
+            this.add(id, LongStream.concat(trigrams(first), trigrams(last)).distinct().sorted().toArray());
+        }
+
+        /**
+         * Deja el id como está en source (incluso ausente).
+         */
+        private void copy(Entries source, Long id) {
+            this.remove(id);
+            if (source.unindexedIds.contains(id)) {
+                this.unindexedIds.add(id);
+            }
+            long[] trigrams = source.trigramsById.get(id);
+            if (trigrams != null) {
+                this.add(id, trigrams);
+            }
+        }
+
+        private void add(Long id, long[] trigrams) {
+            this.trigramsById.put(id, trigrams);
+            for (long trigram : trigrams) {
+                this.postings.computeIfAbsent(trigram, key -> new LongList()).add(id);
+            }
+        }
+
+        private void remove(Long id) {
+            this.unindexedIds.remove(id);
+            long[] trigrams = this.trigramsById.remove(id);
+            if (trigrams == null) {
+                return;
+            }
+            for (long trigram : trigrams) {
+                LongList posting = this.postings.get(trigram);
+                if (posting != null && posting.remove(id) && posting.size == 0) {
+                    this.postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lista de ids sin boxing para las postings de cada trigrama.
+     */
+    private static final class LongList {
+        private static final LongList EMPTY = new LongList();
+
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        private boolean remove(long value) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.values[i] == value) {
+                    this.values[i] = this.values[--this.size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package dev.magadiflo.springbootwebcrud.service.stats;
+
+import dev.magadiflo.springbootwebcrud.model.dto.CatalogStatsDTO;
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorBookCountProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IPublicationYearCountProjection;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import dev.magadiflo.springbootwebcrud.service.event.AuthorChangedEvent;
+import dev.magadiflo.springbootwebcrud.service.event.BookChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Contadores del catálogo (books por author, books por año de publicación y disponibilidad online) que se
+ * actualizan con cada escritura en lugar de ejecutar GROUP BY en cada consulta. Los cambios llegan con
+ * BookChangedEvent y AuthorChangedEvent y se aplican cuando la transacción hace commit.
+ * <p>
+ * Las escrituras que no publican eventos o los eventos que se pierden (por ejemplo, si la aplicación se
+ * detiene antes de procesarlos) desajustan los contadores, por eso se concilian periódicamente con las
+ * consultas GROUP BY (app.stats.reconcileInterval). Cada transacción que cambia el catálogo recibe un número
+ * de secuencia al empezar su commit; la conciliación lee la secuencia al fijar la vista de la BD (marca) y
+ * sobre el resultado aplica solo los cambios posteriores a la marca, los anteriores ya están en la vista.
+ * Si algún commit está en curso mientras se fija la vista no se puede saber si quedó dentro, y se reintenta.
+ * <p>
+ * Con el perfil memory las escrituras se ven antes del commit, así que la conciliación puede contar dos veces
+ * un cambio que se está confirmando en ese momento; la siguiente conciliación lo corrige.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class CatalogStatistics {
+
+    private static final int SNAPSHOT_ATTEMPTS = 10;
+    private static final Duration SNAPSHOT_RETRY_DELAY = Duration.ofMillis(50);
+
+    private final IBookRepository bookRepository;
+    private final IBookAuthorRepository bookAuthorRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong commitSequence = new AtomicLong();
+    private final AtomicInteger commitsInProgress = new AtomicInteger();
+    private volatile Counters counters = new Counters();
+    private List<SequencedChange> changesWhileReconciling;
+    private volatile Instant reconciledAt;
+    private volatile long lastDrift;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("catalog-statistics").start(this::reconcile);
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        this.onCommit(counters -> counters.apply(event));
+    }
+
+    /**
+     * Al eliminar un author se eliminan sus relaciones en books_authors, sus books se mantienen.
+     */
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.type() == AuthorChangedEvent.Type.DELETED) {
+            this.onCommit(counters -> counters.booksByAuthorId.remove(event.authorId()));
+        }
+    }
+
+    /**
+     * Reemplaza los contadores por el resultado de las consultas GROUP BY. Se leen de la BD primaria
+     * (transacción que no es readOnly) para no depender del retraso de las réplicas, con REPEATABLE READ para
+     * que ambas consultas vean la vista fijada junto con la marca.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcileInterval:PT10M}", initialDelayString = "${app.stats.reconcileInterval:PT10M}")
+    public void reconcile() {
+        this.lock.lock();
+        try {
+            if (this.changesWhileReconciling != null) {
+                return;
+            }
+            this.changesWhileReconciling = new ArrayList<>();
+        } finally {
+            this.lock.unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+            transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            Snapshot snapshot = null;
+            for (int attempt = 1; snapshot == null && attempt <= SNAPSHOT_ATTEMPTS; attempt++) {
+                if (attempt > 1) {
+                    LockSupport.parkNanos(SNAPSHOT_RETRY_DELAY.toNanos());
+                }
+                snapshot = transactionTemplate.execute(status -> this.load());
+            }
+            if (snapshot == null) {
+                throw new IllegalStateException("hubo commits en curso en los %d intentos".formatted(SNAPSHOT_ATTEMPTS));
+            }
+
+            Counters reconciled = snapshot.counters();
+            long marker = snapshot.sequence();
+            this.lock.lock();
+            try {
+                this.changesWhileReconciling.stream()
+                        .filter(change -> change.sequence() > marker)
+                        .forEach(change -> change.change().accept(reconciled));
+                this.lastDrift = this.counters.drift(reconciled);
+                this.counters = reconciled;
+                this.reconciledAt = Instant.now();
+            } finally {
+                this.changesWhileReconciling = null;
+                this.lock.unlock();
+            }
+
+            if (this.lastDrift > 0) {
+                log.warn("Contadores del catálogo conciliados con una diferencia de {} en {} ms", this.lastDrift, System.currentTimeMillis() - start);
+            } else {
+                log.info("Contadores del catálogo conciliados sin diferencias en {} ms", System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            this.lock.lock();
+            try {
+                this.changesWhileReconciling = null;
+            } finally {
+                this.lock.unlock();
+            }
+            log.error("No se pudieron conciliar los contadores del catálogo: {}", e.getMessage());
+        }
+    }
+
+    public CatalogStatsDTO stats() {
+        this.lock.lock();
+        try {
+            Counters current = this.counters;
+            Map<Integer, Long> booksByPublicationYear = new TreeMap<>();
+            current.booksByYear.forEach((year, books) -> {
+                if (year != null) {
+                    booksByPublicationYear.put(year, books);
+                }
+            });
+            double onlineAvailabilityRatio = current.books == 0 ? 0 : (double) current.onlineBooks / current.books;
+            return new CatalogStatsDTO(current.books, current.onlineBooks, onlineAvailabilityRatio,
+                    current.booksByYear.getOrDefault(null, 0L), booksByPublicationYear, current.booksByAuthorId.size(),
+                    this.reconciledAt, this.lastDrift);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Sin lock: una sola lectura del mapa.
+     */
+    public long countBooksOfAuthor(Long authorId) {
+        return this.counters.booksByAuthorId.getOrDefault(authorId, 0L);
+    }
+
+    /**
+     * Los cambios de una transacción se acumulan y se aplican juntos después del commit. Sin transacción no
+     * se aplican, igual que con @TransactionalEventListener.
+     */
+    private void onCommit(Consumer<Counters> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> synchronization instanceof PendingChanges pending && pending.owner() == this)
+                .map(PendingChanges.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    PendingChanges pending = new PendingChanges();
+                    TransactionSynchronizationManager.registerSynchronization(pending);
+                    return pending;
+                })
+                .changes.add(change);
+    }
+
+    private void apply(long sequence, List<Consumer<Counters>> changes) {
+        this.lock.lock();
+        try {
+            changes.forEach(change -> change.accept(this.counters));
+            if (this.changesWhileReconciling != null) {
+                changes.forEach(change -> this.changesWhileReconciling.add(new SequencedChange(sequence, change)));
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * La marca se lee justo antes de fijar la vista: si no hay commits en curso, todos los cambios con
+     * secuencia menor o igual ya están confirmados (y en la vista); si la secuencia no cambió al fijarla,
+     * los demás se confirman después (y no están en la vista).
+     *
+     * @return null si algún commit coincidió con la lectura que fija la vista
+     */
+    private Snapshot load() {
+        long sequence = this.commitSequence.get();
+        if (this.commitsInProgress.get() > 0) {
+            return null;
+        }
+        this.bookAuthorRepository.touchCatalogTables();
+        if (this.commitSequence.get() != sequence) {
+            return null;
+        }
+
+        Counters loaded = new Counters();
+        for (IPublicationYearCountProjection row : this.bookRepository.countBooksByPublicationYear()) {
+            loaded.books += row.getBooks();
+            loaded.onlineBooks += row.getOnlineBooks() == null ? 0 : row.getOnlineBooks();
+            loaded.booksByYear.put(row.getPublicationYear(), row.getBooks());
+        }
+        for (IAuthorBookCountProjection row : this.bookAuthorRepository.countBooksByAuthor()) {
+            loaded.booksByAuthorId.put(row.getAuthorId(), row.getBooks());
+        }
+        return new Snapshot(sequence, loaded);
+    }
+
+    private record Snapshot(long sequence, Counters counters) {
+    }
+
+    private record SequencedChange(long sequence, Consumer<Counters> change) {
+    }
+
+    /**
+     * Cambios de una transacción. commitsInProgress se incrementa antes de tomar la secuencia y se decrementa
+     * al terminar la transacción, después de aplicar los cambios.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<Consumer<Counters>> changes = new ArrayList<>();
+        private long sequence;
+        private boolean committing;
+
+        private CatalogStatistics owner() {
+            return CatalogStatistics.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitsInProgress.incrementAndGet();
+            this.committing = true;
+            this.sequence = commitSequence.incrementAndGet();
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(this.sequence, this.changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (this.committing) {
+                commitsInProgress.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * booksByYear se modifica y lee con el lock, admite el año null (books sin publication_date);
+     * booksByAuthorId también se lee sin lock.
+     */
+    private static final class Counters {
+        private long books;
+        private long onlineBooks;
+        private final Map<Integer, Long> booksByYear = new HashMap<>();
+        private final Map<Long, Long> booksByAuthorId = new ConcurrentHashMap<>();
+
+        private void apply(BookChangedEvent event) {
+            long delta = event.type() == BookChangedEvent.Type.SAVED ? 1 : -1;
+            this.books += delta;
+            if (Boolean.TRUE.equals(event.onlineAvailability())) {
+                this.onlineBooks += delta;
+            }
+            add(this.booksByYear, event.publicationDate() == null ? null : event.publicationDate().getYear(), delta);
+            event.authorIds().forEach(authorId -> add(this.booksByAuthorId, authorId, delta));
+        }
+
+        /**
+         * @return suma de las diferencias absolutas de todos los contadores
+         */
+        private long drift(Counters other) {
+            return Math.abs(this.books - other.books) + Math.abs(this.onlineBooks - other.onlineBooks)
+                   + drift(this.booksByYear, other.booksByYear) + drift(this.booksByAuthorId, other.booksByAuthorId);
+        }
+
+        /**
+         * Los contadores que llegan a cero se eliminan del mapa.
+         */
+        private static <K> void add(Map<K, Long> counts, K key, long delta) {
+            counts.compute(key, (k, count) -> {
+                long result = (count == null ? 0 : count) + delta;
+                return result > 0 ? result : null;
+            });
+        }
+
+        private static <K> long drift(Map<K, Long> counts, Map<K, Long> otherCounts) {
+            Set<K> keys = new HashSet<>(counts.keySet());
+            keys.addAll(otherCounts.keySet());
+            return keys.stream()
+                    .mapToLong(key -> Math.abs(counts.getOrDefault(key, 0L) - otherCounts.getOrDefault(key, 0L)))
+                    .sum();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.magadiflo.springbootwebcrud.service.support;
+
+import dev.magadiflo.springbootwebcrud.persistence.datasource.ReadYourWrites;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las lecturas idénticas que se hacen al mismo tiempo: el primer hilo que pide una clave ejecuta la
+ * consulta y los que piden la misma clave mientras tanto esperan y reciben su mismo resultado (o excepción).
+ * Al terminar la consulta la clave se libera, el resultado no se guarda.
+ * <p>
+ * No se agrupa si el hilo ya está dentro de una transacción (podría ver sus propios cambios sin commit) ni si
+ * sus lecturas deben ir a la primaria (ver ReadYourWrites), en esos casos la consulta se ejecuta directamente.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> query) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || ReadYourWrites.isPrimaryRequired()) {
+            return query.get();
+        }
+
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> current = this.inFlight.putIfAbsent(key, call);
+        if (current != null) {
+            return await(current);
+        }
+
+        try {
+            V value = query.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
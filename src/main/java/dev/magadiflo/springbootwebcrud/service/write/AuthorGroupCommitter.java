@@ -0,0 +1,222 @@
+package dev.magadiflo.springbootwebcrud.service.write;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.persistence.datasource.ReadYourWrites;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.service.event.AuthorChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Registro de autores con group commit (app.groupCommit.enabled=true): cada petición deja su author en una
+ * cola acotada y espera; un único hilo toma de la cola grupos de hasta maxBatchSize autores (o los que hayan
+ * llegado en maxDelay) y los registra con un solo INSERT batch y un solo commit. La petición responde recién
+ * cuando el commit de su grupo terminó, así que la confirmación sigue siendo durable.
+ * <p>
+ * Si el grupo falla antes del commit (la transacción se deshizo) se reintenta cada author en su propia
+ * transacción, para que un registro inválido no haga fallar a los demás. Si falla el commit no se sabe si el
+ * grupo quedó registrado, así que no se reintenta (podría duplicar autores) y cada petición recibe un error.
+ * Con group commit desactivado cada author se registra en su propia transacción.
+ * <p>
+ * El INSERT se ejecuta en el hilo del grupo, por eso save() marca la escritura en la petición que envió el
+ * author (ver ReadYourWrites), para que sus lecturas siguientes vayan a la primaria.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class AuthorGroupCommitter {
+
+    private final IAuthorRepository authorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.groupCommit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.groupCommit.queueCapacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.groupCommit.maxBatchSize:200}")
+    private int maxBatchSize;
+
+    @Value("${app.groupCommit.maxDelay:PT0.002S}")
+    private Duration maxDelay;
+
+    @Value("${app.groupCommit.ackTimeout:PT5S}")
+    private Duration ackTimeout;
+
+    private BlockingQueue<PendingAuthor> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!this.enabled) {
+            return;
+        }
+        log.info("Group commit de autores, queueCapacity: {}, maxBatchSize: {}, maxDelay: {}",
+                this.queueCapacity, this.maxBatchSize, this.maxDelay);
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.running = true;
+        this.flusher = Thread.ofPlatform().name("author-group-commit").start(this::flushLoop);
+    }
+
+    /**
+     * Deja de aceptar autores y espera a que se registren los que ya están en la cola.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (this.flusher != null) {
+            this.running = false;
+            this.flusher.join(this.ackTimeout.toMillis());
+        }
+    }
+
+    /**
+     * @return id generado, una vez que la transacción que registró al author hizo commit
+     */
+    public Long save(Author author) {
+        if (!this.enabled) {
+            return this.insertOne(author);
+        }
+
+        PendingAuthor pending = new PendingAuthor(author, new CompletableFuture<>());
+        if (!this.running || !this.queue.offer(pending)) {
+            throw new ApiException("Hay demasiados registros pendientes, intente nuevamente", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        // También si falla: con timeout o un error en el commit el author pudo haber quedado registrado
+        try {
+            return pending.result().get(this.ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ApiException("No se confirmó el registro a tiempo, verifique si el author fue registrado",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Registro interrumpido", HttpStatus.SERVICE_UNAVAILABLE);
+        } finally {
+            ReadYourWrites.markWrite();
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingAuthor> group = new ArrayList<>(this.maxBatchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                PendingAuthor first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+
+                long deadline = System.nanoTime() + this.maxDelay.toNanos();
+                while (group.size() < this.maxBatchSize) {
+                    this.queue.drainTo(group, this.maxBatchSize - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() == this.maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingAuthor next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+
+                this.flush(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                group.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingAuthor> group) {
+        try {
+            List<Long> ids = this.insert(group.stream().map(PendingAuthor::author).toList());
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).result().complete(ids.get(i));
+            }
+            log.debug("Grupo de {} autores registrado", group.size());
+        } catch (RolledBackException | CannotCreateTransactionException e) {
+            log.warn("No se pudo registrar el grupo de {} autores, se reintentan uno por uno: {}", group.size(), e.getMessage());
+            for (PendingAuthor pending : group) {
+                try {
+                    pending.result().complete(this.insertOne(pending.author()));
+                } catch (RuntimeException authorException) {
+                    pending.result().completeExceptionally(authorException);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Falló el commit del grupo de {} autores, no se sabe si quedaron registrados: {}", group.size(), e.getMessage());
+            ApiException unknownOutcome = new ApiException("No se pudo confirmar el registro, verifique si el author fue registrado",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+            group.forEach(pending -> pending.result().completeExceptionally(unknownOutcome));
+        }
+    }
+
+    private Long insertOne(Author author) {
+        try {
+            return this.insert(List.of(author)).get(0);
+        } catch (RolledBackException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @throws RolledBackException si falló el INSERT: la transacción se deshizo, no hizo commit. Cualquier otra
+     *                             excepción viene de abrir la transacción o de su commit
+     */
+    private List<Long> insert(List<Author> authors) {
+        return this.transactionTemplate.execute(status -> {
+            try {
+                List<Long> ids = this.authorRepository.insertAuthors(authors);
+                authors.forEach(author -> this.eventPublisher.publishEvent(AuthorChangedEvent.saved(author)));
+                return ids;
+            } catch (RuntimeException e) {
+                throw new RolledBackException(e);
+            }
+        });
+    }
+
+    private record PendingAuthor(Author author, CompletableFuture<Long> result) {
+    }
+
+    private static final class RolledBackException extends RuntimeException {
+        private RolledBackException(RuntimeException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+}
@@ -2,15 +2,38 @@ package dev.magadiflo.springbootwebcrud.web.advice;
 
 import dev.magadiflo.springbootwebcrud.exception.ApiException;
 import dev.magadiflo.springbootwebcrud.web.util.ResponseMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+@Slf4j
 @RestControllerAdvice
 public class ApiAdvice {
+
+    @Value("${app.datasource.retryAfterSeconds:1}")
+    private long retryAfterSeconds;
+
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<ResponseMessage<Void>> apiException(ApiException apiException) {
         ResponseMessage<Void> responseMessage = new ResponseMessage<>(apiException.getMessage(), null);
         return ResponseEntity.status(apiException.getHttpStatus()).body(responseMessage);
     }
+
+    /**
+     * No se obtuvo una conexión a la BD a tiempo (pool agotado o BD no disponible), el cliente puede reintentar.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ResponseMessage<Void>> connectionUnavailable(RuntimeException exception) {
+        log.warn(exception.getMessage());
+        ResponseMessage<Void> responseMessage = new ResponseMessage<>("Servicio saturado, intente nuevamente", null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(this.retryAfterSeconds))
+                .body(responseMessage);
+    }
 }
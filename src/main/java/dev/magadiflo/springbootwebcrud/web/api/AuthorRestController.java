@@ -1,28 +1,40 @@
 package dev.magadiflo.springbootwebcrud.web.api;
 
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorCursor;
 import dev.magadiflo.springbootwebcrud.model.dto.AuthorRequestParam;
+import dev.magadiflo.springbootwebcrud.model.dto.BookCursor;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteRequestDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteResultDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.CursorPageDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.MultiGetDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.RegisterAuthorDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.UpdateAuthorDTO;
+import dev.magadiflo.springbootwebcrud.model.enums.TotalMode;
 import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
 import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecification;
-import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecs;
 import dev.magadiflo.springbootwebcrud.service.IAuthorService;
+import dev.magadiflo.springbootwebcrud.web.util.ETags;
 import dev.magadiflo.springbootwebcrud.web.util.ResponseMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.SortDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -32,9 +44,34 @@ public class AuthorRestController {
 
     private final IAuthorService authorService;
 
+    /**
+     * Si llega If-None-Match se compara con la versión actual del author, sin leer el registro completo, y se
+     * responde 304 si coincide. Si no, el ETag es la versión guardada junto con el author que se responde (en la
+     * caché o recién leído), así siempre corresponde al cuerpo.
+     */
     @GetMapping(path = "/{authorId}")
-    public ResponseEntity<IAuthorProjection> showAuthor(@PathVariable Long authorId) {
-        return ResponseEntity.ok(this.authorService.findAuthorById(authorId));
+    public ResponseEntity<IAuthorProjection> showAuthor(@PathVariable Long authorId, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = this.authorService.findAuthorVersion(authorId);
+            if (version.isPresent() && ETags.matches(webRequest, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(String.valueOf(version.get())).build();
+            }
+        }
+        IAuthorProjection author = this.authorService.findAuthorById(authorId);
+        return ResponseEntity.ok().eTag(String.valueOf(author.getVersion())).body(author);
+    }
+
+    @GetMapping(path = "/{authorId}/books")
+    public ResponseEntity<CursorPageDTO<IBookProjection>> showAuthorBooks(@PathVariable Long authorId,
+                                                                          @RequestParam(name = "cursor", required = false) String cursor,
+                                                                          @RequestParam(name = "pageSize", defaultValue = "5", required = false) int pageSize) {
+        BookCursor bookCursor = cursor == null ? null : BookCursor.decode(cursor);
+        return ResponseEntity.ok(this.authorService.findBooksByAuthorId(authorId, bookCursor, pageSize));
+    }
+
+    @GetMapping(path = "/batch")
+    public ResponseEntity<MultiGetDTO<IAuthorProjection>> showAuthors(@RequestParam(name = "ids") List<Long> ids) {
+        return ResponseEntity.ok(this.authorService.findAuthorsByIds(ids));
     }
 
     @PostMapping
@@ -51,6 +88,26 @@ public class AuthorRestController {
         return ResponseEntity.ok(responseMessage);
     }
 
+    /**
+     * Con el header Prefer: return=minimal responde 204 sin volver a leer el author.
+     */
+    @PatchMapping(path = "/{authorId}")
+    public ResponseEntity<ResponseMessage<IAuthorProjection>> patchAuthor(@PathVariable Long authorId,
+                                                                          @RequestBody UpdateAuthorDTO updateAuthorDTO,
+                                                                          @RequestHeader(name = "Prefer", required = false) String prefer) {
+        this.authorService.patchAuthor(authorId, updateAuthorDTO);
+
+        if (prefer != null && prefer.contains("return=minimal")) {
+            return ResponseEntity.noContent()
+                    .header("Preference-Applied", "return=minimal")
+                    .build();
+        }
+
+        ResponseMessage<IAuthorProjection> responseMessage = new ResponseMessage<>("Registro actualizado",
+                this.authorService.findAuthorById(authorId));
+        return ResponseEntity.ok(responseMessage);
+    }
+
     @DeleteMapping(path = "/{authorId}")
     public ResponseEntity<Void> deleteAuthor(@PathVariable Long authorId) {
         return this.authorService.deleteAuthorById(authorId)
@@ -70,23 +127,54 @@ public class AuthorRestController {
 
     @GetMapping(path = "/specs")
     public ResponseEntity<List<IAuthorProjection>> findAllAuthorWithSpecs(AuthorRequestParam authorRequestParam) {
-        Specification<IAuthorProjection> condition1 = AuthorSpecs.isEqualToBirthdate(authorRequestParam.birthdate());
-        Specification<IAuthorProjection> condition2 = AuthorSpecs.fullNameContainsTheSearchedTerm(authorRequestParam.q());
+        return ResponseEntity.ok(this.authorService.findAllAuthorWithSpecs(authorRequestParam));
+    }
 
-        return ResponseEntity.ok(this.authorService.findAllAuthorWithSpecs(condition1.and(condition2)));
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAuthors(AuthorRequestParam authorRequestParam) {
+        StreamingResponseBody body = outputStream -> this.authorService.exportAuthors(authorRequestParam, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    /**
+     * total=exact (por defecto) devuelve un Page con COUNT(*); total=none y total=approximate devuelven un
+     * SliceDTO sin COUNT(*), el segundo con el total aproximado (ver TotalMode).
+     */
     @GetMapping(path = "/paginated")
-    public ResponseEntity<Page<IAuthorProjection>> findAllToPage(@RequestParam(name = "q", required = false) String q,
-                                                                 @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate birthdate,
-                                                                 @RequestParam(name = "pageNumber", defaultValue = "0", required = false) int pageNumber,
-                                                                 @RequestParam(name = "pageSize", defaultValue = "5", required = false) int pageSize,
-                                                                 @SortDefault(sort = "id", direction = Sort.Direction.ASC) Sort sort) {
-
-        Specification<IAuthorProjection> condition1 = AuthorSpecs.isEqualToBirthdate(birthdate);
-        Specification<IAuthorProjection> condition2 = AuthorSpecs.fullNameContainsTheSearchedTerm(q);
+    public ResponseEntity<?> findAllToPage(@RequestParam(name = "q", required = false) String q,
+                                           @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate birthdate,
+                                           @RequestParam(name = "pageNumber", defaultValue = "0", required = false) int pageNumber,
+                                           @RequestParam(name = "pageSize", defaultValue = "5", required = false) int pageSize,
+                                           @RequestParam(name = "total", defaultValue = "exact", required = false) String total,
+                                           @SortDefault(sort = "id", direction = Sort.Direction.ASC) Sort sort) {
+
         Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
+        AuthorRequestParam authorRequestParam = new AuthorRequestParam(q, birthdate);
+        TotalMode totalMode = TotalMode.from(total);
+
+        if (totalMode == TotalMode.EXACT) {
+            return ResponseEntity.ok(this.authorService.findAllToPage(authorRequestParam, pageable));
+        }
+        return ResponseEntity.ok(this.authorService.findAllToSlice(authorRequestParam, pageable, totalMode == TotalMode.APPROXIMATE));
+    }
+
+    @GetMapping(path = "/paginated/cursor")
+    public ResponseEntity<CursorPageDTO<Author>> findAllToCursorPage(@RequestParam(name = "q", required = false) String q,
+                                                                     @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate birthdate,
+                                                                     @RequestParam(name = "cursor", required = false) String cursor,
+                                                                     @RequestParam(name = "pageSize", defaultValue = "5", required = false) int pageSize,
+                                                                     @SortDefault(sort = "id", direction = Sort.Direction.ASC) Sort sort) {
+
+        AuthorCursor authorCursor = cursor == null ? null : AuthorCursor.decode(cursor);
+        Sort.Order order = sort.iterator().next();
+
+        return ResponseEntity.ok(this.authorService.findAllToCursorPage(new AuthorRequestParam(q, birthdate), authorCursor, order, pageSize));
+    }
 
-        return ResponseEntity.ok(this.authorService.findAllToPage(condition1.and(condition2), pageable));
+    @PostMapping(path = "/bulk-delete")
+    public ResponseEntity<BulkDeleteResultDTO> bulkDelete(@RequestBody BulkDeleteRequestDTO bulkDeleteRequestDTO) {
+        return ResponseEntity.ok(this.authorService.deleteAuthorsByIds(bulkDeleteRequestDTO.ids()));
     }
 }
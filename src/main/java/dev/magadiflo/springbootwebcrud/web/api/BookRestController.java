@@ -1,13 +1,28 @@
 package dev.magadiflo.springbootwebcrud.web.api;
 
+import dev.magadiflo.springbootwebcrud.model.dto.BookWithAuthorsDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteRequestDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.BulkDeleteResultDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.MultiGetDTO;
 import dev.magadiflo.springbootwebcrud.model.dto.RegisterBookDTO;
 import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
 import dev.magadiflo.springbootwebcrud.service.IBookService;
+import dev.magadiflo.springbootwebcrud.web.util.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -17,9 +32,36 @@ public class BookRestController {
 
     private final IBookService bookService;
 
+    @GetMapping
+    public ResponseEntity<Slice<BookWithAuthorsDTO>> findAllBooks(@RequestParam(name = "pageNumber", defaultValue = "0", required = false) int pageNumber,
+                                                                  @RequestParam(name = "pageSize", defaultValue = "5", required = false) int pageSize,
+                                                                  @SortDefault(sort = "id", direction = Sort.Direction.ASC) Sort sort) {
+
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
+
+        return ResponseEntity.ok(this.bookService.findAllBooks(pageable));
+    }
+
+    /**
+     * Si llega If-None-Match se compara con la versión actual del book, sin leer el registro completo, y se
+     * responde 304 si coincide. Si no, el ETag es la versión guardada junto con el book que se responde (en la
+     * caché o recién leído), así siempre corresponde al cuerpo.
+     */
     @GetMapping(path = "/with-authors/{bookId}")
-    public ResponseEntity<IBookProjection> showBookWithAuthors(@PathVariable Long bookId) {
-        return ResponseEntity.ok(this.bookService.findBookAuthorByBookId(bookId));
+    public ResponseEntity<IBookProjection> showBookWithAuthors(@PathVariable Long bookId, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = this.bookService.findBookVersion(bookId);
+            if (version.isPresent() && ETags.matches(webRequest, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(String.valueOf(version.get())).build();
+            }
+        }
+        IBookProjection book = this.bookService.findBookAuthorByBookId(bookId);
+        return ResponseEntity.ok().eTag(String.valueOf(book.getVersion())).body(book);
+    }
+
+    @GetMapping(path = "/with-authors/batch")
+    public ResponseEntity<MultiGetDTO<IBookProjection>> showBooksWithAuthors(@RequestParam(name = "ids") List<Long> ids) {
+        return ResponseEntity.ok(this.bookService.findBookAuthorsByBookIds(ids));
     }
 
     @PostMapping(path = "/with-authors")
@@ -35,4 +77,8 @@ public class BookRestController {
                 .orElseThrow();
     }
 
+    @PostMapping(path = "/bulk-delete")
+    public ResponseEntity<BulkDeleteResultDTO> bulkDelete(@RequestBody BulkDeleteRequestDTO bulkDeleteRequestDTO) {
+        return ResponseEntity.ok(this.bookService.deleteBooksByIds(bulkDeleteRequestDTO.ids()));
+    }
 }
@@ -0,0 +1,26 @@
+package dev.magadiflo.springbootwebcrud.web.api;
+
+import dev.magadiflo.springbootwebcrud.model.dto.CacheStatsDTO;
+import dev.magadiflo.springbootwebcrud.service.ICacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Slf4j
+@RestController
+@RequestMapping(path = "/api/v1/cache")
+public class CacheRestController {
+
+    private final ICacheService cacheService;
+
+    @GetMapping(path = "/stats")
+    public ResponseEntity<List<CacheStatsDTO>> showCacheStats() {
+        return ResponseEntity.ok(this.cacheService.findCacheStats());
+    }
+}
@@ -0,0 +1,31 @@
+package dev.magadiflo.springbootwebcrud.web.api;
+
+import dev.magadiflo.springbootwebcrud.model.dto.AuthorBookCountDTO;
+import dev.magadiflo.springbootwebcrud.model.dto.CatalogStatsDTO;
+import dev.magadiflo.springbootwebcrud.service.ICatalogStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@Slf4j
+@RestController
+@RequestMapping(path = "/api/v1/stats")
+public class CatalogStatsRestController {
+
+    private final ICatalogStatsService catalogStatsService;
+
+    @GetMapping
+    public ResponseEntity<CatalogStatsDTO> showCatalogStats() {
+        return ResponseEntity.ok(this.catalogStatsService.findCatalogStats());
+    }
+
+    @GetMapping(path = "/authors/{authorId}")
+    public ResponseEntity<AuthorBookCountDTO> showBookCountOfAuthor(@PathVariable Long authorId) {
+        return ResponseEntity.ok(this.catalogStatsService.findBookCountOfAuthor(authorId));
+    }
+}
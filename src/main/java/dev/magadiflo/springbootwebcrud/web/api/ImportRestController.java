@@ -0,0 +1,37 @@
+package dev.magadiflo.springbootwebcrud.web.api;
+
+import dev.magadiflo.springbootwebcrud.model.dto.ImportSummaryDTO;
+import dev.magadiflo.springbootwebcrud.model.enums.ImportFormat;
+import dev.magadiflo.springbootwebcrud.service.IImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RequiredArgsConstructor
+@Slf4j
+@RestController
+@RequestMapping(path = "/api/v1/import")
+public class ImportRestController {
+
+    private final IImportService importService;
+
+    @PostMapping(path = "/authors", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<ImportSummaryDTO> importAuthors(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          InputStream inputStream) {
+        return ResponseEntity.ok(this.importService.importAuthors(inputStream, ImportFormat.fromContentType(contentType)));
+    }
+
+    @PostMapping(path = "/books/with-authors", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<ImportSummaryDTO> importBooksWithAuthors(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                   InputStream inputStream) {
+        return ResponseEntity.ok(this.importService.importBooks(inputStream, ImportFormat.fromContentType(contentType)));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.magadiflo.springbootwebcrud.web.filter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite de peticiones concurrentes que se ajusta según la latencia observada (gradiente). Las latencias se
+ * agrupan en ventanas de al menos window y minWindowSamples muestras; al cerrar una ventana:
+ * <ul>
+ *     <li>si hubo errores (5xx) el límite se multiplica por backoffRatio;</li>
+ *     <li>si no, se multiplica por el gradiente tolerance * latencia de referencia / latencia media (entre 0.5
+ *     y 1) y se le suma raíz cuadrada del límite como margen para la cola. Mientras la latencia no supere
+ *     tolerance veces la de referencia el límite crece, y baja en proporción a cuánto la supere.</li>
+ * </ul>
+ * La latencia de referencia es una media móvil de las últimas BASELINE_WINDOWS ventanas y no la mínima
+ * observada: con el pool de conexiones ocupado la latencia sube algo aunque el servicio esté sano, solo se
+ * reduce el límite cuando sube de golpe o sigue subiendo. El cambio se suaviza (SMOOTHING) y el límite solo
+ * crece si en la ventana se llegó a usar al menos la mitad.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimit {
+
+    private static final int BASELINE_WINDOWS = 100;
+    private static final double SMOOTHING = 0.2;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    private double estimatedLimit;
+
+    private long windowStart = System.nanoTime();
+    private int samples;
+    private long rttSum;
+    private boolean dropped;
+    private int maxInFlight;
+    private double baselineRtt;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                    double backoffRatio, Duration window, int minWindowSamples) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Límites inválidos para %s: minLimit %d, maxLimit %d".formatted(name, minLimit, maxLimit));
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.estimatedLimit = this.limit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+    }
+
+    /**
+     * @return false si ya hay tantas peticiones en curso como el límite, la petición debe rechazarse
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.limit) {
+                this.rejected.increment();
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el permiso y registra la latencia de la petición.
+     *
+     * @param dropped, true si la petición falló por sobrecarga o error del servidor
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = this.inFlight.getAndDecrement();
+        this.sample(rttNanos, dropped, current);
+    }
+
+    /**
+     * Libera el permiso sin registrar la latencia, para peticiones cuya duración no es representativa.
+     */
+    public void release() {
+        this.inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return this.limit;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    private synchronized void sample(long rttNanos, boolean dropped, int inFlight) {
+        this.samples++;
+        this.rttSum += rttNanos;
+        this.dropped |= dropped;
+        this.maxInFlight = Math.max(this.maxInFlight, inFlight);
+
+        long now = System.nanoTime();
+        if (now - this.windowStart < this.windowNanos || this.samples < this.minWindowSamples) {
+            return;
+        }
+
+        long averageRtt = this.rttSum / this.samples;
+        if (this.baselineRtt == 0) {
+            this.baselineRtt = averageRtt;
+        }
+
+        double target;
+        if (this.dropped) {
+            target = this.estimatedLimit * this.backoffRatio;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, this.tolerance * this.baselineRtt / averageRtt));
+            target = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+        }
+        if (target < this.estimatedLimit || this.maxInFlight * 2 >= this.limit) {
+            double smoothed = this.estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING;
+            this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, smoothed));
+        }
+
+        int newLimit = (int) this.estimatedLimit;
+        if (newLimit != this.limit) {
+            log.debug("Límite {}: {} -> {} (latencia media {} µs, de referencia {} µs, errores: {})", this.name, this.limit,
+                    newLimit, averageRtt / 1_000, (long) this.baselineRtt / 1_000, this.dropped);
+            this.limit = newLimit;
+        }
+
+        this.baselineRtt += (averageRtt - this.baselineRtt) * 2 / (BASELINE_WINDOWS + 1);
+        if (this.baselineRtt > 2.0 * averageRtt) {
+            // La latencia bajó mucho (terminó una sobrecarga), la referencia se acerca más rápido
+            this.baselineRtt *= 0.9;
+        }
+        this.windowStart = now;
+        this.samples = 0;
+        this.rttSum = 0;
+        this.dropped = false;
+        this.maxInFlight = 0;
+    }
+}
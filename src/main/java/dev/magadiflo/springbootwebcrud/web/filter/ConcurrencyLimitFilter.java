@@ -0,0 +1,88 @@
+package dev.magadiflo.springbootwebcrud.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.magadiflo.springbootwebcrud.web.util.ResponseMessage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rechaza con 503 y Retry-After las peticiones a /api/v1/** que superan el límite de concurrencia, antes de
+ * que esperen en Tomcat o en el pool de conexiones. Las lecturas (GET, HEAD, OPTIONS) y las escrituras tienen
+ * límites separados, para que una ráfaga de registros no deje sin capacidad a las consultas ni al revés.
+ * <p>
+ * No se limitan las rutas de excludedPaths (exportación e importación), su duración depende del volumen de
+ * datos y no de la carga.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/v1/**";
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final long retryAfterSeconds;
+    private final List<String> excludedPaths;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit readLimit, AdaptiveConcurrencyLimit writeLimit,
+                                  long retryAfterSeconds, List<String> excludedPaths, ObjectMapper objectMapper) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.excludedPaths = excludedPaths;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !this.pathMatcher.match(API_PATH, path) ||
+               this.excludedPaths.stream().anyMatch(excludedPath -> this.pathMatcher.match(excludedPath, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = isRead(request) ? this.readLimit : this.writeLimit;
+        if (!limit.tryAcquire()) {
+            this.reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (request.isAsyncStarted()) {
+                limit.release();
+            } else {
+                limit.release(System.nanoTime() - start, dropped);
+            }
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(this.retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), new ResponseMessage<>("Servicio saturado, intente nuevamente", null));
+    }
+}
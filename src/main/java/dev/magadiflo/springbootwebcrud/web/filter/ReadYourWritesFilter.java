@@ -0,0 +1,68 @@
+package dev.magadiflo.springbootwebcrud.web.filter;
+
+import dev.magadiflo.springbootwebcrud.persistence.datasource.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Cuando una petición escribe en la BD primaria, responde con una cookie que indica hasta cuándo las
+ * lecturas de ese cliente deben ir también a la primaria (readYourWritesWindow), el tiempo que se espera
+ * que tarden las réplicas en tener el cambio.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "rw-primary-until";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        ReadYourWrites.begin(this.isPrimaryRequired(request, now), () -> this.addCookie(response, now));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+
+    /**
+     * El valor lo envía el cliente, se ignora si pide leer de la primaria por más tiempo que la ventana.
+     */
+    private boolean isPrimaryRequired(HttpServletRequest request, long now) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(cookie.getValue());
+            return now < until && until - now <= this.window.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void addCookie(HttpServletResponse response, long now) {
+        if (this.window.isZero() || response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + this.window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, this.window.toSeconds()));
+        response.addCookie(cookie);
+    }
+}
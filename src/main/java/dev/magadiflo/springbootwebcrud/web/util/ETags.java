@@ -0,0 +1,31 @@
+package dev.magadiflo.springbootwebcrud.web.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+
+/**
+ * Comparación de If-None-Match con la versión de una fila. A diferencia de WebRequest.checkNotModified no
+ * agrega el ETag a la respuesta, así el ETag que se envía con el cuerpo puede ser otro.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @return true si If-None-Match es * o incluye la versión, fuerte o débil (W/"1")
+     */
+    public static boolean matches(WebRequest webRequest, Long version) {
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || version == null) {
+            return false;
+        }
+        String eTag = "\"%d\"".formatted(version);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(value -> value.startsWith("W/") ? value.substring(2) : value)
+                .anyMatch(value -> value.equals("*") || value.equals(eTag));
+    }
+}
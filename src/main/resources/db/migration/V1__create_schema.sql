@@ -0,0 +1,29 @@
+-- Esquema inicial, igual al que generaba Hibernate con ddl-auto: update. En una BD que ya tiene las tablas
+-- esta versión no se ejecuta, Flyway la registra como línea base (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE authors
+(
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    birthdate  DATE,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE books
+(
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    online_availability BIT,
+    publication_date    DATE,
+    title               VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE books_authors
+(
+    author_id BIGINT NOT NULL,
+    book_id   BIGINT NOT NULL,
+    PRIMARY KEY (author_id, book_id),
+    CONSTRAINT fk_books_authors_author_id FOREIGN KEY (author_id) REFERENCES authors (id),
+    CONSTRAINT fk_books_authors_book_id FOREIGN KEY (book_id) REFERENCES books (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,15 @@
+-- Índices para las consultas de IAuthorRepository, IBookAuthorRepository y AuthorSpecs. Se verifican con
+-- el test QueryPlanTest.
+
+-- Las búsquedas por author_id (existsBookAuthorByAuthorId, deleteBookAuthorByAuthorId, findBookIdsByAuthorIds)
+-- usan la clave primaria (author_id, book_id). Las búsquedas por book_id (findBookAuthorByBookId,
+-- findAuthorRowsByBookIds, existsBookAuthorByBookId, deleteBookAuthorsByBookIds) usan este índice, que
+-- incluye author_id para resolverse sin leer la tabla.
+CREATE INDEX idx_books_authors_book_id ON books_authors (book_id, author_id);
+
+-- Filtro AuthorSpecs.isEqualToBirthdate y paginación por cursor ordenando por birthdate.
+CREATE INDEX idx_authors_birthdate ON authors (birthdate, id);
+
+-- Paginación por cursor ordenando por last_name o first_name (AuthorSpecs.isAfterCursor, ver AuthorCursor).
+CREATE INDEX idx_authors_last_name ON authors (last_name, id);
+CREATE INDEX idx_authors_first_name ON authors (first_name, id);
@@ -0,0 +1,5 @@
+-- Versión de cada fila para los ETag y el control optimista (@Version). Las filas existentes empiezan en 0, y la
+-- columna no admite NULL para que version + 1 en las sentencias nativas siempre incremente.
+
+ALTER TABLE authors ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE books ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,362 @@
+package dev.magadiflo.springbootwebcrud.persistence;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookAuthorRowProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryBookRepository;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryStore;
+import dev.magadiflo.springbootwebcrud.persistence.memory.MemoryTransactionManager;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecification;
+import dev.magadiflo.springbootwebcrud.persistence.repository.specification.AuthorSpecs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Las mismas aserciones sobre los repositorios JPA (consultas nativas en H2, modo MySQL) y sobre los del motor
+ * en memoria (perfil memory), que deben devolver los mismos resultados.
+ * <p>
+ * En dos puntos H2 no se comporta como MySQL, que es lo que imita el motor en memoria, y esas reglas se verifican
+ * solo en memoria:
+ * <ul>
+ *     <li>Compara los textos distinguiendo mayúsculas y tildes, a diferencia de la collation *_ai_ci. Los términos
+ *     de búsqueda de los demás tests coinciden igual con ambas reglas.</li>
+ *     <li>En modo MySQL, CONCAT trata NULL como '' en lugar de devolver NULL.</li>
+ * </ul>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryContractTest {
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IBookRepository bookRepository;
+
+    @Autowired
+    private IBookAuthorRepository bookAuthorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Cada test trabaja con las tablas vacías: un MemoryStore nuevo y la BD H2 sin filas.
+     */
+    Stream<Engine> engines() {
+        MemoryStore store = new MemoryStore();
+        return Stream.of(
+                new Engine("jpa", this.authorRepository, this.bookRepository, this.bookAuthorRepository, this.transactionManager),
+                new Engine("memory", new MemoryAuthorRepository(store), new MemoryBookRepository(store),
+                        new MemoryBookAuthorRepository(store), new MemoryTransactionManager(store)));
+    }
+
+    @BeforeEach
+    @AfterEach
+    void deleteRows() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+        jdbcTemplate.update("DELETE FROM books_authors");
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM authors");
+    }
+
+    /**
+     * IN ignora los ids repetidos y los que no existen.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void authorProjectionsIncludeTheFullName(Engine engine) {
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", LocalDate.of(1899, 8, 24));
+
+        IAuthorProjection author = engine.read(() -> engine.authors().findAuthorById(borges)).orElseThrow();
+        assertThat(author.getFullName()).isEqualTo("Jorge Luis Borges");
+        assertThat(author.getBirthdate()).isEqualTo(LocalDate.of(1899, 8, 24));
+        assertThat(author.getVersion()).isZero();
+        assertThat(engine.read(() -> engine.authors().findAuthorById(-1L))).isEmpty();
+
+        assertThat(engine.read(() -> engine.authors().findAuthorsByIds(List.of(borges, -1L, borges))))
+                .extracting(IAuthorProjection::getId)
+                .containsExactly(borges);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void countAuthorsByIdsCountsDistinctExistingAuthors(Engine engine) {
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", null);
+        Long cortazar = engine.insertAuthor("Julio", "Cortázar", null);
+
+        assertThat(engine.read(() -> engine.authors().countAuthorsByIds(List.of(borges, borges, cortazar, -1L)))).isEqualTo(2);
+        assertThat(engine.read(() -> engine.authors().findExistingAuthorIds(List.of(cortazar, -1L, borges))))
+                .containsExactlyInAnyOrder(borges, cortazar);
+    }
+
+    /**
+     * Los books sin autores no aparecen (INNER JOIN).
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void bookProjectionsConcatenateTheNamesOfTheirAuthors(Engine engine) {
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", null);
+        Long bioy = engine.insertAuthor("Adolfo", "Bioy Casares", null);
+        Long book = engine.insertBook("Seis problemas para don Isidro Parodi");
+        Long withoutAuthors = engine.insertBook("Sin autores");
+
+        assertThat(engine.write(() -> engine.bookAuthors().saveBookAuthors(book, List.of(borges, bioy, -1L))))
+                .isEqualTo(2);
+
+        IBookProjection projection = engine.read(() -> engine.bookAuthors().findBookAuthorByBookId(book)).orElseThrow();
+        assertThat(projection.getTitle()).isEqualTo("Seis problemas para don Isidro Parodi");
+        assertThat(projection.getVersion()).isZero();
+        assertThat(projection.getAuthors()).containsExactly("Jorge Luis Borges", "Adolfo Bioy Casares");
+        assertThat(engine.read(() -> engine.bookAuthors().findBookAuthorByBookId(withoutAuthors))).isEmpty();
+
+        assertThat(engine.read(() -> engine.bookAuthors().findBookAuthorsByBookIds(List.of(withoutAuthors, book, book))))
+                .extracting(IBookProjection::getId)
+                .containsExactly(book);
+        assertThat(engine.read(() -> engine.bookAuthors().findAuthorRowsByBookIds(List.of(book))))
+                .extracting(IBookAuthorRowProjection::getAuthorId, IBookAuthorRowProjection::getFullName)
+                .containsExactly(
+                        tuple(borges, "Jorge Luis Borges"),
+                        tuple(bioy, "Adolfo Bioy Casares"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void specificationsFilterByTermAndBirthdate(Engine engine) {
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", LocalDate.of(1899, 8, 24));
+        Long bioy = engine.insertAuthor("Adolfo", "Bioy Casares", LocalDate.of(1914, 9, 15));
+        Long cortazar = engine.insertAuthor("Julio", "Cortázar", LocalDate.of(1914, 8, 26));
+        engine.insertAuthor("Anónimo", null, null);
+        Sort byLastName = Sort.by("lastName");
+
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.fullNameContainsTheSearchedTerm("or"), byLastName)))
+                .extracting("id")
+                .containsExactly(borges, cortazar);
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.isEqualToBirthdate(LocalDate.of(1914, 8, 26)), byLastName)))
+                .extracting("id")
+                .containsExactly(cortazar);
+
+        AuthorSpecification termAndBirthdate = AuthorSpecification.builder().q("o").birthdate(LocalDate.of(1914, 9, 15)).build();
+        assertThat(engine.read(() -> engine.authors().findAll(termAndBirthdate, byLastName)))
+                .extracting("id")
+                .containsExactly(bioy);
+
+        Page<IAuthorProjection> page = engine.read(() -> engine.authors()
+                .findAll(AuthorSpecs.fullNameContainsTheSearchedTerm("o"), PageRequest.of(1, 2, byLastName)));
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting("id").containsExactly(borges, cortazar);
+    }
+
+    /**
+     * NULL va primero en orden ascendente y al final en descendente, como en MySQL.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void sortingPutsNullsFirstInAscendingOrder(Engine engine) {
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", LocalDate.of(1899, 8, 24));
+        Long withoutBirthdate = engine.insertAuthor("Anónimo", "Anónimo", null);
+        Long cortazar = engine.insertAuthor("Julio", "Cortázar", LocalDate.of(1914, 8, 26));
+
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.isEqualToBirthdate(null), Sort.by("birthdate"))))
+                .extracting("id")
+                .containsExactly(withoutBirthdate, borges, cortazar);
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.isEqualToBirthdate(null), Sort.by(Sort.Direction.DESC, "birthdate"))))
+                .extracting("id")
+                .containsExactly(cortazar, borges, withoutBirthdate);
+    }
+
+    /**
+     * Al revertirse la transacción se deshacen todas sus escrituras (en memoria, con el UndoLog de MemoryStore).
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void rollbackUndoesEveryWriteOfTheTransaction(Engine engine) {
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", null);
+        Long book = engine.insertBook("Ficciones");
+        engine.write(() -> engine.bookAuthors().saveBookAuthors(book, List.of(borges)));
+
+        List<Long> insertedInRollback = engine.rollback(() -> {
+            List<Long> ids = engine.authors().insertAuthors(List.of(Author.builder().firstName("Julio").lastName("Cortázar").build()));
+            engine.authors().updateAuthor(Author.builder().id(borges).firstName("Jorge Luis").lastName("Borges Acevedo").build());
+            engine.bookAuthors().deleteBookAuthorsByBookIds(List.of(book));
+            engine.bookAuthors().saveBookAuthors(book, ids);
+            engine.books().deleteBooksByIds(List.of(engine.insertBookInCurrentTransaction("Rayuela")));
+            return ids;
+        });
+
+        assertThat(engine.read(() -> engine.authors().findExistingAuthorIds(insertedInRollback))).isEmpty();
+        IAuthorProjection author = engine.read(() -> engine.authors().findAuthorById(borges)).orElseThrow();
+        assertThat(author.getLastName()).isEqualTo("Borges");
+        assertThat(author.getVersion()).isZero();
+        assertThat(engine.read(() -> engine.bookAuthors().findBookAuthorByBookId(book)).orElseThrow().getAuthors())
+                .containsExactly("Jorge Luis Borges");
+        assertThat(engine.read(() -> engine.bookAuthors().findBookIdsByAuthorId(borges))).containsExactly(book);
+    }
+
+    /**
+     * Lo que confirma una transacción REQUIRES_NEW se mantiene aunque la transacción que la contiene se revierta.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void requiresNewCommitsIndependentlyOfTheOuterTransaction(Engine engine) {
+        TransactionTemplate requiresNew = new TransactionTemplate(engine.transactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<Long> ids = engine.rollback(() -> {
+            Long outer = engine.authors().insertAuthors(List.of(Author.builder().firstName("Julio").lastName("Cortázar").build())).get(0);
+            Long inner = requiresNew.execute(status -> engine.authors()
+                    .insertAuthors(List.of(Author.builder().firstName("Jorge Luis").lastName("Borges").build())).get(0));
+            return List.of(outer, inner);
+        });
+
+        assertThat(engine.read(() -> engine.authors().findExistingAuthorIds(ids))).containsExactly(ids.get(1));
+    }
+
+    /**
+     * Como la FK de books_authors, no se puede eliminar un author que aún tiene books.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void deletingAnAuthorWithBooksViolatesTheForeignKey(Engine engine) {
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", null);
+        Long book = engine.insertBook("Ficciones");
+        engine.write(() -> engine.bookAuthors().saveBookAuthors(book, List.of(borges)));
+
+        assertThatThrownBy(() -> engine.write(() -> engine.authors().deleteAuthorById(borges)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(engine.read(() -> engine.authors().findVersionById(borges))).contains(0L);
+    }
+
+    /**
+     * Collation *_ai_ci de MySQL: LIKE, igualdad y orden sin distinguir mayúsculas ni tildes. H2 no sirve de
+     * referencia aquí (ver el comentario de la clase).
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void memoryEngineComparesTextLikeMySql(Engine engine) {
+        assumeMySqlSemantics(engine);
+        Long cortazar = engine.insertAuthor("Julio", "Cortázar", null);
+        Long alvarez = engine.insertAuthor("Álvaro", "alvarez", null);
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", null);
+
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.fullNameContainsTheSearchedTerm("CORTAZAR"))))
+                .extracting("id")
+                .containsExactly(cortazar);
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.fullNameContainsTheSearchedTerm("alvaro"))))
+                .extracting("id")
+                .containsExactly(alvarez);
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.idIsIn(null), Sort.by("lastName"))))
+                .extracting("id")
+                .containsExactly(alvarez, borges, cortazar);
+        assertThat(engine.read(() -> engine.authors().findAll(AuthorSpecs.idIsIn(null), Sort.by("firstName"))))
+                .extracting("id")
+                .containsExactly(alvarez, borges, cortazar);
+    }
+
+    /**
+     * CONCAT devuelve NULL si alguna parte es NULL, y GROUP_CONCAT omite esos valores.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void memoryEngineConcatenatesNullLikeMySql(Engine engine) {
+        assumeMySqlSemantics(engine);
+        Long borges = engine.insertAuthor("Jorge Luis", "Borges", null);
+        Long withoutLastName = engine.insertAuthor("Anónimo", null, null);
+        Long book = engine.insertBook("Ficciones");
+        engine.write(() -> engine.bookAuthors().saveBookAuthors(book, List.of(borges, withoutLastName)));
+
+        assertThat(engine.read(() -> engine.authors().findAuthorById(withoutLastName)).orElseThrow().getFullName()).isNull();
+        assertThat(engine.read(() -> engine.bookAuthors().findBookAuthorByBookId(book)).orElseThrow().getAuthors())
+                .containsExactly("Jorge Luis Borges");
+        assertThat(engine.read(() -> engine.bookAuthors().findAuthorRowsByBookIds(List.of(book))))
+                .extracting(IBookAuthorRowProjection::getAuthorId, IBookAuthorRowProjection::getFullName)
+                .containsExactly(tuple(borges, "Jorge Luis Borges"), tuple(withoutLastName, null));
+    }
+
+    private static void assumeMySqlSemantics(Engine engine) {
+        assumeTrue(engine.name().equals("memory"), "H2 no reproduce esta regla de MySQL");
+    }
+
+    /**
+     * Repositorios de un motor y su PlatformTransactionManager.
+     */
+    record Engine(String name, IAuthorRepository authors, IBookRepository books, IBookAuthorRepository bookAuthors,
+                  PlatformTransactionManager transactionManager) {
+
+        Long insertAuthor(String firstName, String lastName, LocalDate birthdate) {
+            return this.write(() -> this.authors.insertAuthors(List.of(Author.builder()
+                    .firstName(firstName).lastName(lastName).birthdate(birthdate).build())).get(0));
+        }
+
+        Long insertBook(String title) {
+            return this.write(() -> this.insertBookInCurrentTransaction(title));
+        }
+
+        Long insertBookInCurrentTransaction(String title) {
+            return this.books.insertBooks(List.of(Book.builder().title(title).publicationDate(LocalDate.of(1942, 1, 1)).build())).get(0);
+        }
+
+        <T> T write(Supplier<T> work) {
+            return new TransactionTemplate(this.transactionManager).execute(status -> work.get());
+        }
+
+        <T> T read(Supplier<T> work) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+            transactionTemplate.setReadOnly(true);
+            return transactionTemplate.execute(status -> work.get());
+        }
+
+        <T> T rollback(Supplier<T> work) {
+            return new TransactionTemplate(this.transactionManager).execute(status -> {
+                T result = work.get();
+                status.setRollbackOnly();
+                return result;
+            });
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
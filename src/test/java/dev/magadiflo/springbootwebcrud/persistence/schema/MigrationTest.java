@@ -0,0 +1,38 @@
+package dev.magadiflo.springbootwebcrud.persistence.schema;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MigrationTest {
+
+    /**
+     * Una BD creada antes de Flyway (tablas de ddl-auto: update, sin version) se registra en la versión 1 y
+     * recibe las columnas version de las migraciones siguientes, con 0 en las filas que ya tenía.
+     */
+    @Test
+    void baselinedDatabaseGetsTheVersionColumns() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE authors (id BIGINT NOT NULL AUTO_INCREMENT, birthdate DATE, first_name VARCHAR(255), last_name VARCHAR(255), PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE TABLE books (id BIGINT NOT NULL AUTO_INCREMENT, online_availability BIT, publication_date DATE, title VARCHAR(255), PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE TABLE books_authors (author_id BIGINT NOT NULL, book_id BIGINT NOT NULL, PRIMARY KEY (author_id, book_id))");
+        jdbcTemplate.update("INSERT INTO authors (first_name, last_name) VALUES ('Jorge Luis', 'Borges')");
+        jdbcTemplate.update("INSERT INTO books (title) VALUES ('Ficciones')");
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM authors", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM books", Long.class)).isZero();
+        jdbcTemplate.update("UPDATE authors SET version = version + 1");
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM authors", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT is_nullable FROM information_schema.columns
+                WHERE table_name = 'books' AND column_name = 'version'
+                """, String.class)).isEqualTo("NO");
+    }
+}
@@ -0,0 +1,97 @@
+package dev.magadiflo.springbootwebcrud.persistence.schema;
+
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ejecuta EXPLAIN sobre las consultas frecuentes en H2 (modo MySQL, como el perfil local) con el esquema de las
+ * migraciones de Flyway (db/migration), y falla si alguna recorre una tabla completa, es decir, si dejó de usar
+ * los índices definidos en las migraciones.
+ * <p>
+ * Las consultas nativas se leen de la anotación @Query de los repositorios, los parámetros se reemplazan por
+ * el valor 1. Las consultas JPQL y las de Specification se escriben aquí con el SQL equivalente. Las de
+ * estadísticas (countBooksByPublicationYear, countBooksByAuthor) recorren las tablas a propósito y no se incluyen.
+ */
+class QueryPlanTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:query_plan_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryUsesAnIndex(String name, String sql) {
+        String plan = String.join(" | ", jdbcTemplate.query("EXPLAIN " + sql,
+                (resultSet, rowNum) -> resultSet.getString(1).replaceAll("\\s+", " ")));
+
+        assertThat(plan).as("%s recorre una tabla completa: %s", name, plan).doesNotContain(".tableScan");
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                query(IAuthorRepository.class, "findAuthorById"),
+                query(IAuthorRepository.class, "findAuthorsByIds"),
+                query(IAuthorRepository.class, "findExistingAuthorIds"),
+                query(IAuthorRepository.class, "findVersionById"),
+                query(IAuthorRepository.class, "findMaxId"),
+                query(IBookAuthorRepository.class, "findBookAuthorByBookId"),
+                query(IBookAuthorRepository.class, "findBookAuthorsByBookIds"),
+                query(IBookAuthorRepository.class, "findAuthorRowsByBookIds"),
+                query(IBookAuthorRepository.class, "findBookIdsByAuthorId"),
+                query(IBookAuthorRepository.class, "findBookIdsByAuthorIdAfter"),
+                query(IBookAuthorRepository.class, "findBookIdsByAuthorIds"),
+                query(IBookAuthorRepository.class, "touchCatalogTables"),
+                query(IBookAuthorRepository.class, "deleteBookAuthorsByBookIds"),
+                query(IBookAuthorRepository.class, "deleteBookAuthorsByAuthorIds"),
+                query(IBookRepository.class, "findVersionById"),
+                query(IBookRepository.class, "incrementVersionOfBooksByAuthorIds"),
+                query(IBookRepository.class, "findBooksToDeleteForUpdate"),
+                query(IBookRepository.class, "deleteBooksByIds"),
+                Arguments.of("IBookAuthorRepository.existsBookAuthorByBookId",
+                        "SELECT COUNT(ba.book_id) FROM books_authors AS ba WHERE ba.book_id = 1"),
+                Arguments.of("IBookAuthorRepository.existsBookAuthorByAuthorId",
+                        "SELECT COUNT(ba.author_id) FROM books_authors AS ba WHERE ba.author_id = 1"),
+                Arguments.of("IBookAuthorRepository.deleteBookAuthorByAuthorId",
+                        "DELETE FROM books_authors WHERE author_id = 1"),
+                Arguments.of("AuthorSpecs.isEqualToBirthdate",
+                        "SELECT a.id, a.first_name, a.last_name, a.birthdate FROM authors AS a WHERE a.birthdate = DATE '1990-01-01'"),
+                Arguments.of("AuthorSpecs.isAfterCursor(lastName)", """
+                        SELECT a.id, a.first_name, a.last_name, a.birthdate FROM authors AS a
+                        WHERE a.last_name > 'M' OR (a.last_name = 'M' AND a.id > 1)
+                        ORDER BY a.last_name, a.id LIMIT 6
+                        """),
+                Arguments.of("AuthorSpecs.idIsGreaterThan",
+                        "SELECT a.id, a.first_name, a.last_name, a.birthdate FROM authors AS a WHERE a.id > 1"));
+    }
+
+    private static Arguments query(Class<?> repository, String methodName) {
+        Query query = Arrays.stream(repository.getMethods())
+                .filter(method -> method.getName().equals(methodName))
+                .map(method -> method.getAnnotation(Query.class))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("%s.%s no tiene @Query".formatted(repository.getSimpleName(), methodName)));
+        return Arguments.of(repository.getSimpleName() + "." + methodName, query.value().replaceAll("(?<!:):[a-zA-Z]\\w*", "1"));
+    }
+}
@@ -0,0 +1,97 @@
+package dev.magadiflo.springbootwebcrud.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import dev.magadiflo.springbootwebcrud.service.ICacheService;
+import dev.magadiflo.springbootwebcrud.service.search.AuthorNameIndex;
+import dev.magadiflo.springbootwebcrud.service.write.AuthorGroupCommitter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthorServiceImplTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    private final IAuthorRepository authorRepository = mock(IAuthorRepository.class);
+    private AuthorServiceImpl authorService;
+
+    @BeforeEach
+    void setUp() {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:author_service_test;DB_CLOSE_DELAY=-1", "sa", ""));
+        this.authorService = new AuthorServiceImpl(this.authorRepository, mock(IBookAuthorRepository.class),
+                mock(IBookRepository.class), new ObjectMapper(), mock(ICacheService.class), mock(AuthorNameIndex.class),
+                mock(ApplicationEventPublisher.class), transactionManager, mock(AuthorGroupCommitter.class));
+        ReflectionTestUtils.setField(this.authorService, "approximateTotalThreads", 1);
+        ReflectionTestUtils.setField(this.authorService, "approximateTotalMaximumSize", 10L);
+        ReflectionTestUtils.setField(this.authorService, "approximateTotalRefreshAfterWrite", Duration.ofMinutes(1));
+        this.authorService.initApproximateTotals();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.authorService.shutdownApproximateTotals();
+    }
+
+    @Test
+    void concurrentMissesForSameIdRunOneReadOnlyQuery() throws InterruptedException {
+        IAuthorProjection author = mock(IAuthorProjection.class);
+        AtomicInteger queries = new AtomicInteger();
+        AtomicInteger readOnlyQueries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.authorRepository.findAuthorById(1L)).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                readOnlyQueries.incrementAndGet();
+            }
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(author);
+        });
+
+        List<IAuthorProjection> results = new ArrayList<>();
+        List<Thread> requests = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests.add(Thread.ofPlatform().start(() -> {
+                IAuthorProjection result = this.authorService.findAuthorById(1L);
+                synchronized (results) {
+                    results.add(result);
+                }
+            }));
+        }
+
+        // La consulta queda retenida hasta que todas las peticiones están esperando: la que la ejecuta y las demás
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> requests.stream().allMatch(request -> request.getState() == Thread.State.WAITING
+                                                                   || request.getState() == Thread.State.TIMED_WAITING));
+        release.countDown();
+        for (Thread request : requests) {
+            request.join(5_000);
+        }
+
+        assertThat(results).hasSize(CONCURRENT_REQUESTS).containsOnly(author);
+        assertThat(queries).hasValue(1);
+        assertThat(readOnlyQueries).hasValue(1);
+    }
+}
@@ -0,0 +1,87 @@
+package dev.magadiflo.springbootwebcrud.service.impl;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.model.dto.RegisterBookDTO;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.service.ICacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(BookServiceImpl.class)
+class BookServiceImplTest {
+
+    @MockBean
+    private ICacheService cacheService;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IBookAuthorRepository bookAuthorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveBookWithAuthorsIdListIssuesSameStatementsForOneOrManyAuthors() {
+        List<Long> authorIds = this.authorRepository.insertAuthors(IntStream.rangeClosed(1, 25)
+                .mapToObj(i -> Author.builder().firstName("Nombre" + i).lastName("Apellido" + i).build())
+                .toList());
+
+        long withOneAuthor = this.countStatements(() -> this.bookService.saveBookWithAuthorsIdList(
+                new RegisterBookDTO("Un autor", LocalDate.of(2020, 1, 1), true, authorIds.subList(0, 1))));
+        long withManyAuthors = this.countStatements(() -> this.bookService.saveBookWithAuthorsIdList(
+                new RegisterBookDTO("Varios autores", LocalDate.of(2021, 1, 1), false, authorIds)));
+
+        assertThat(withOneAuthor).isPositive();
+        assertThat(withManyAuthors).isEqualTo(withOneAuthor);
+        assertThat(this.bookAuthorRepository.findBookIdsByAuthorId(authorIds.get(authorIds.size() - 1))).hasSize(1);
+        assertThat(this.bookAuthorRepository.findBookIdsByAuthorId(authorIds.get(0))).hasSize(2);
+    }
+
+    @Test
+    void deleteBookByIdReadsTheBookOnceAndThenFailsWithNotFound() {
+        List<Long> authorIds = this.authorRepository.insertAuthors(IntStream.rangeClosed(1, 3)
+                .mapToObj(i -> Author.builder().firstName("Nombre" + i).lastName("Apellido" + i).build())
+                .toList());
+        Long bookId = this.bookService.saveBookWithAuthorsIdList(new RegisterBookDTO("Eliminado", LocalDate.of(2020, 1, 1), true, authorIds));
+
+        // SELECT ... FOR UPDATE, DELETE de books_authors y DELETE de books
+        assertThat(this.countStatements(() -> this.bookService.deleteBookById(bookId).map(deleted -> bookId).orElse(null))).isEqualTo(3);
+        assertThat(this.bookAuthorRepository.findBookIdsByAuthorId(authorIds.get(0))).isEmpty();
+        assertThatThrownBy(() -> this.bookService.deleteBookById(bookId))
+                .isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    private long countStatements(Supplier<Long> action) {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(action.get()).isNotNull();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,80 @@
+package dev.magadiflo.springbootwebcrud.service.search;
+
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import dev.magadiflo.springbootwebcrud.service.event.AuthorChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthorNameIndexTest {
+
+    private final IAuthorRepository authorRepository = mock(IAuthorRepository.class);
+    private AuthorNameIndex authorNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:author_name_index_test;DB_CLOSE_DELAY=-1", "sa", ""));
+        this.authorNameIndex = new AuthorNameIndex(this.authorRepository, transactionManager);
+        ReflectionTestUtils.setField(this.authorNameIndex, "enabled", true);
+        ReflectionTestUtils.setField(this.authorNameIndex, "maxCandidates", 1000);
+        ReflectionTestUtils.setField(this.authorNameIndex, "fetchSize", 100);
+    }
+
+    /**
+     * El author 2 se registra sin pasar por esta instancia (no hay AuthorChangedEvent): mientras el índice no lo
+     * tenga la búsqueda debe hacerse solo con LIKE, y después el índice lo devuelve como candidato.
+     */
+    @Test
+    void searchesOnlyWithLikeWhileTheDatabaseIsAheadOfTheIndex() {
+        Author borges = Author.builder().id(1L).firstName("Jorge Luis").lastName("Borges").build();
+        Author cortazar = Author.builder().id(2L).firstName("Julio").lastName("Cortázar").build();
+        when(this.authorRepository.streamAll(any(), anyInt())).thenAnswer(invocation -> Stream.of(borges));
+        when(this.authorRepository.findMaxId()).thenReturn(Optional.of(1L));
+        this.authorNameIndex.rebuild();
+
+        assertThat(this.authorNameIndex.findCandidateIds("borges")).contains(Set.of(1L));
+        assertThat(this.authorNameIndex.findCandidateIds("cortazar")).contains(Set.of());
+
+        when(this.authorRepository.streamAll(any(), anyInt())).thenAnswer(invocation -> Stream.of(cortazar));
+        when(this.authorRepository.findMaxId()).thenReturn(Optional.of(2L));
+
+        assertThat(this.authorNameIndex.findCandidateIds("cortazar")).isEmpty();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> this.authorNameIndex.findCandidateIds("cortazar").isPresent());
+        assertThat(this.authorNameIndex.findCandidateIds("cortazar")).contains(Set.of(2L));
+        assertThat(this.authorNameIndex.findCandidateIds("borges")).contains(Set.of(1L));
+    }
+
+    /**
+     * Un cambio que llega mientras se reconstruye el índice no se pierde al reemplazar el índice por el nuevo,
+     * aunque la carga haya leído el nombre anterior.
+     */
+    @Test
+    void rebuildKeepsChangesReceivedWhileLoading() {
+        Author borges = Author.builder().id(1L).firstName("Jorge Luis").lastName("Borges").build();
+        when(this.authorRepository.findMaxId()).thenReturn(Optional.of(1L));
+        when(this.authorRepository.streamAll(any(), anyInt())).thenAnswer(invocation -> Stream.of(borges)
+                .peek(author -> this.authorNameIndex.onAuthorChanged(new AuthorChangedEvent(AuthorChangedEvent.Type.SAVED,
+                        1L, "Jorge Luis", "Borges Acevedo"))));
+        this.authorNameIndex.rebuild();
+
+        assertThat(this.authorNameIndex.findCandidateIds("acevedo")).contains(Set.of(1L));
+        assertThat(this.authorNameIndex.findCandidateIds("borges")).contains(Set.of(1L));
+    }
+}
@@ -0,0 +1,90 @@
+package dev.magadiflo.springbootwebcrud.service.stats;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorBookCountProjection;
+import dev.magadiflo.springbootwebcrud.model.projection.IPublicationYearCountProjection;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Book;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookAuthorRepository;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IBookRepository;
+import dev.magadiflo.springbootwebcrud.service.event.BookChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogStatisticsTest {
+
+    private final IBookRepository bookRepository = mock(IBookRepository.class);
+    private final IBookAuthorRepository bookAuthorRepository = mock(IBookAuthorRepository.class);
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:catalog_statistics_test;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final CatalogStatistics catalogStatistics = new CatalogStatistics(this.bookRepository, this.bookAuthorRepository,
+            this.transactionManager);
+
+    /**
+     * El book se confirma antes de que la conciliación lea la BD (las consultas ya lo cuentan), pero su cambio
+     * se aplica a los contadores después de que la conciliación empezó a registrar los cambios.
+     */
+    @Test
+    void reconcileDoesNotCountTwiceAChangeCommittedBeforeTheSnapshot() throws InterruptedException {
+        IPublicationYearCountProjection yearCount = mock(IPublicationYearCountProjection.class);
+        when(yearCount.getPublicationYear()).thenReturn(2020);
+        when(yearCount.getBooks()).thenReturn(1L);
+        when(yearCount.getOnlineBooks()).thenReturn(1L);
+        IAuthorBookCountProjection authorCount = mock(IAuthorBookCountProjection.class);
+        when(authorCount.getAuthorId()).thenReturn(7L);
+        when(authorCount.getBooks()).thenReturn(1L);
+        when(this.bookRepository.countBooksByPublicationYear()).thenReturn(List.of(yearCount));
+        when(this.bookAuthorRepository.countBooksByAuthor()).thenReturn(List.of(authorCount));
+
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Book book = Book.builder().id(1L).publicationDate(LocalDate.of(2020, 1, 1)).onlineAvailability(true).build();
+        Thread writer = Thread.ofPlatform().start(() -> new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            // Se registra antes que los cambios del catálogo, así su afterCommit los retiene
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.countDown();
+                    awaitQuietly(release);
+                }
+            });
+            this.catalogStatistics.onBookChanged(BookChangedEvent.saved(book, List.of(7L)));
+        }));
+
+        assertThat(committed.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread reconciliation = Thread.ofPlatform().start(this.catalogStatistics::reconcile);
+        await().atMost(Duration.ofSeconds(5))
+                .pollInterval(Duration.ofMillis(5))
+                .until(() -> ReflectionTestUtils.getField(this.catalogStatistics, "changesWhileReconciling") != null);
+        release.countDown();
+        writer.join(5_000);
+        reconciliation.join(5_000);
+
+        assertThat(this.catalogStatistics.stats().books()).isEqualTo(1);
+        assertThat(this.catalogStatistics.stats().onlineBooks()).isEqualTo(1);
+        assertThat(this.catalogStatistics.countBooksOfAuthor(7L)).isEqualTo(1);
+        assertThat(this.catalogStatistics.stats().reconciledAt()).isNotNull();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
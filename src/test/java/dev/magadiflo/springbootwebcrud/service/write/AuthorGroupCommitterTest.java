@@ -0,0 +1,124 @@
+package dev.magadiflo.springbootwebcrud.service.write;
+
+import dev.magadiflo.springbootwebcrud.exception.ApiException;
+import dev.magadiflo.springbootwebcrud.persistence.datasource.ReadYourWrites;
+import dev.magadiflo.springbootwebcrud.persistence.entity.Author;
+import dev.magadiflo.springbootwebcrud.persistence.repository.IAuthorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthorGroupCommitterTest {
+
+    private final IAuthorRepository authorRepository = mock(IAuthorRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final AuthorGroupCommitter authorGroupCommitter = new AuthorGroupCommitter(this.authorRepository,
+            mock(ApplicationEventPublisher.class), new TransactionTemplate(this.transactionManager));
+
+    private final Author borges = Author.builder().firstName("Jorge Luis").lastName("Borges").build();
+    private final Author invalid = Author.builder().firstName("Julio").build();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        this.authorGroupCommitter.stop();
+    }
+
+    @Test
+    void retriesEachAuthorWhenTheGroupWasRolledBack() {
+        when(this.transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(this.authorRepository.insertAuthors(anyList())).thenAnswer(invocation -> {
+            List<Author> authors = invocation.getArgument(0);
+            if (authors.contains(this.invalid)) {
+                throw new DataIntegrityViolationException("last_name no puede ser null");
+            }
+            return List.of(1L);
+        });
+        this.start();
+
+        List<CompletableFuture<Long>> results = this.saveInOneGroup(this.borges, this.invalid);
+
+        assertThat(results.get(0).join()).isEqualTo(1L);
+        assertThatThrownBy(() -> results.get(1).join()).hasCauseInstanceOf(DataIntegrityViolationException.class);
+        verify(this.authorRepository, times(3)).insertAuthors(anyList());
+    }
+
+    /**
+     * Si falla el commit el grupo pudo haber quedado registrado: reintentar uno por uno podría duplicarlo.
+     */
+    @Test
+    void doesNotRetryWhenTheCommitOutcomeIsUnknown() {
+        when(this.transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        doThrow(new TransactionSystemException("Could not commit JDBC transaction")).when(this.transactionManager).commit(any());
+        when(this.authorRepository.insertAuthors(anyList())).thenReturn(List.of(1L, 2L));
+        this.start();
+
+        List<CompletableFuture<Long>> results = this.saveInOneGroup(this.borges, this.borges);
+
+        for (CompletableFuture<Long> result : results) {
+            assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+                    .cause().isInstanceOfSatisfying(ApiException.class,
+                            e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        verify(this.authorRepository, times(1)).insertAuthors(anyList());
+    }
+
+    /**
+     * El INSERT se hace en el hilo del grupo, la petición que envió el author igual debe quedar marcada.
+     */
+    @Test
+    void marksTheWriteInTheSubmittingRequest() {
+        when(this.transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(this.authorRepository.insertAuthors(anyList())).thenReturn(List.of(1L));
+        this.start();
+
+        AtomicInteger firstWrites = new AtomicInteger();
+        ReadYourWrites.begin(false, firstWrites::incrementAndGet);
+        try {
+            assertThat(this.authorGroupCommitter.save(this.borges)).isEqualTo(1L);
+            assertThat(ReadYourWrites.isPrimaryRequired()).isTrue();
+            assertThat(firstWrites).hasValue(1);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+
+    private void start() {
+        ReflectionTestUtils.setField(this.authorGroupCommitter, "enabled", true);
+        ReflectionTestUtils.setField(this.authorGroupCommitter, "queueCapacity", 10);
+        ReflectionTestUtils.setField(this.authorGroupCommitter, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(this.authorGroupCommitter, "maxDelay", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(this.authorGroupCommitter, "ackTimeout", Duration.ofSeconds(5));
+        this.authorGroupCommitter.start();
+    }
+
+    /**
+     * Con maxBatchSize 2 y maxDelay de 2 segundos ambos autores se registran en el mismo grupo.
+     */
+    private List<CompletableFuture<Long>> saveInOneGroup(Author first, Author second) {
+        return List.of(CompletableFuture.supplyAsync(() -> this.authorGroupCommitter.save(first)),
+                CompletableFuture.supplyAsync(() -> this.authorGroupCommitter.save(second)));
+    }
+}
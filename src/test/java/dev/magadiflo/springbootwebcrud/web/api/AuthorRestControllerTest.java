@@ -0,0 +1,115 @@
+package dev.magadiflo.springbootwebcrud.web.api;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IAuthorProjection;
+import dev.magadiflo.springbootwebcrud.service.IAuthorService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthorRestControllerTest {
+
+    private final IAuthorService authorService = mock(IAuthorService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AuthorRestController(this.authorService)).build();
+
+    /**
+     * El ETag sale de la versión del author que se responde. Sin If-None-Match no se consulta la versión aparte.
+     */
+    @Test
+    void showAuthorUsesTheVersionOfTheReturnedAuthorAsETag() throws Exception {
+        when(this.authorService.findAuthorById(1L)).thenReturn(new Author(1L, "Jorge Luis", "Borges", 4L));
+
+        this.mockMvc.perform(get("/api/v1/authors/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.lastName").value("Borges"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        verify(this.authorService, never()).findAuthorVersion(any());
+    }
+
+    /**
+     * Un If-None-Match vigente se responde con la consulta de la versión, sin leer el author.
+     */
+    @Test
+    void showAuthorAnswersNotModifiedWithoutReadingTheAuthor() throws Exception {
+        when(this.authorService.findAuthorVersion(1L)).thenReturn(Optional.of(4L));
+
+        this.mockMvc.perform(get("/api/v1/authors/1").header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(content().string(""));
+
+        verify(this.authorService, never()).findAuthorById(any());
+    }
+
+    /**
+     * Si el author cambió entre la consulta de la versión y la lectura, el ETag es el del cuerpo que se responde.
+     */
+    @Test
+    void showAuthorSendsTheETagOfTheBodyWhenTheVersionDoesNotMatch() throws Exception {
+        when(this.authorService.findAuthorVersion(1L)).thenReturn(Optional.of(4L));
+        when(this.authorService.findAuthorById(1L)).thenReturn(new Author(1L, "Jorge Luis", "Borges", 5L));
+
+        this.mockMvc.perform(get("/api/v1/authors/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(jsonPath("$.lastName").value("Borges"));
+    }
+
+    /**
+     * Con getters como las proyecciones de Spring Data (un record se serializa por sus componentes).
+     */
+    @RequiredArgsConstructor
+    private static final class Author implements IAuthorProjection {
+        private final Long id;
+        private final String firstName;
+        private final String lastName;
+        private final Long version;
+
+        @Override
+        public Long getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getFirstName() {
+            return this.firstName;
+        }
+
+        @Override
+        public String getLastName() {
+            return this.lastName;
+        }
+
+        @Override
+        public String getFullName() {
+            return this.firstName + " " + this.lastName;
+        }
+
+        @Override
+        public LocalDate getBirthdate() {
+            return null;
+        }
+
+        @Override
+        public Long getVersion() {
+            return this.version;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.magadiflo.springbootwebcrud.web.api;
+
+import dev.magadiflo.springbootwebcrud.model.projection.IBookProjection;
+import dev.magadiflo.springbootwebcrud.service.IBookService;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookRestControllerTest {
+
+    private final IBookService bookService = mock(IBookService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BookRestController(this.bookService)).build();
+
+    /**
+     * Un If-None-Match vigente se responde con la consulta de la versión, sin la consulta con los autores.
+     */
+    @Test
+    void showBookWithAuthorsAnswersNotModifiedWithoutTheJoinQuery() throws Exception {
+        when(this.bookService.findBookVersion(1L)).thenReturn(Optional.of(2L));
+
+        this.mockMvc.perform(get("/api/v1/books/with-authors/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(this.bookService, never()).findBookAuthorByBookId(any());
+    }
+
+    @Test
+    void showBookWithAuthorsUsesTheVersionOfTheReturnedBookAsETag() throws Exception {
+        when(this.bookService.findBookVersion(1L)).thenReturn(Optional.of(3L));
+        when(this.bookService.findBookAuthorByBookId(1L)).thenReturn(new Book(1L, "Ficciones", "Jorge Luis Borges", 3L));
+
+        this.mockMvc.perform(get("/api/v1/books/with-authors/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.authors[0]").value("Jorge Luis Borges"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    /**
+     * Con getters como las proyecciones de Spring Data (un record se serializa por sus componentes).
+     */
+    @RequiredArgsConstructor
+    private static final class Book implements IBookProjection {
+        private final Long id;
+        private final String title;
+        private final String concatAuthors;
+        private final Long version;
+
+        @Override
+        public Long getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getTitle() {
+            return this.title;
+        }
+
+        @Override
+        public LocalDate getPublicationDate() {
+            return null;
+        }
+
+        @Override
+        public Boolean getOnlineAvailability() {
+            return false;
+        }
+
+        @Override
+        public String getConcatAuthors() {
+            return this.concatAuthors;
+        }
+
+        @Override
+        public Long getVersion() {
+            return this.version;
+        }
+    }
+}
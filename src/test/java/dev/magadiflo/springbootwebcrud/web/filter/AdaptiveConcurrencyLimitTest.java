@@ -0,0 +1,169 @@
+package dev.magadiflo.springbootwebcrud.web.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Con window = 0 cada ventana se cierra al completar WINDOW_SAMPLES muestras, así los tests no dependen del reloj.
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final int WINDOW_SAMPLES = 10;
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void rejectsWhileInFlightRequestsReachTheLimit() {
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 10);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+        assertThat(limit.getRejected()).isEqualTo(1);
+
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void adjustsTheLimitOnlyWhenAWindowCloses() {
+        AdaptiveConcurrencyLimit limit = limit(20, 5, 100);
+
+        for (int i = 0; i < WINDOW_SAMPLES - 1; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(MILLIS, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(MILLIS, true);
+        assertThat(limit.getLimit()).isLessThan(20);
+    }
+
+    @Test
+    void growsWhileTheLatencyStaysWithinTheTolerance() {
+        AdaptiveConcurrencyLimit limit = limit(20, 5, 100);
+
+        // La latencia sube un 40 %, dentro de tolerance (1.5) respecto a la de referencia
+        for (int i = 0; i < 30; i++) {
+            concurrentWindow(limit, i < 5 ? MILLIS : 14 * MILLIS / 10, false);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    /**
+     * El límite solo crece si en la ventana se llegó a usar al menos la mitad; con pocas peticiones
+     * concurrentes la latencia no dice nada de la capacidad.
+     */
+    @Test
+    void doesNotGrowWhenLessThanHalfOfTheLimitIsUsed() {
+        AdaptiveConcurrencyLimit limit = limit(20, 5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            sequentialWindow(limit, MILLIS, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void neverGrowsAboveMaxLimit() {
+        AdaptiveConcurrencyLimit limit = limit(12, 5, 18);
+
+        for (int i = 0; i < 100; i++) {
+            concurrentWindow(limit, MILLIS, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void backsOffOnServerErrorsDownToMinLimit() {
+        AdaptiveConcurrencyLimit limit = limit(20, 5, 100);
+
+        sequentialWindow(limit, MILLIS, true);
+        assertThat(limit.getLimit()).isEqualTo(19);
+
+        for (int i = 0; i < 200; i++) {
+            sequentialWindow(limit, MILLIS, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void shrinksWhenTheLatencyExceedsTheTolerance() {
+        AdaptiveConcurrencyLimit limit = limit(20, 5, 100);
+        for (int i = 0; i < 5; i++) {
+            concurrentWindow(limit, MILLIS, false);
+        }
+        int beforeSpike = limit.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            sequentialWindow(limit, 10 * MILLIS, false);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(beforeSpike);
+    }
+
+    /**
+     * La latencia de referencia es una media móvil: si la latencia más alta se mantiene (ej. el pool de
+     * conexiones ocupado), pasa a ser la normal y el límite vuelve a crecer.
+     */
+    @Test
+    void baselineFollowsASustainedLatencyIncrease() {
+        AdaptiveConcurrencyLimit limit = limit(20, 10, 100);
+        for (int i = 0; i < 5; i++) {
+            concurrentWindow(limit, MILLIS, false);
+        }
+        int beforeIncrease = limit.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            concurrentWindow(limit, 3 * MILLIS, false);
+        }
+        int afterIncrease = limit.getLimit();
+        assertThat(afterIncrease).isLessThan(beforeIncrease);
+
+        for (int i = 0; i < 300; i++) {
+            concurrentWindow(limit, 3 * MILLIS, false);
+        }
+        assertThat(limit.getLimit()).isGreaterThan(afterIncrease);
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThatThrownBy(() -> limit(10, 0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limit(10, 20, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AdaptiveConcurrencyLimit limit(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimit("test", initialLimit, minLimit, maxLimit, 1.5, 0.9, Duration.ZERO, WINDOW_SAMPLES);
+    }
+
+    /**
+     * Una ventana con WINDOW_SAMPLES peticiones en curso a la vez.
+     */
+    private static void concurrentWindow(AdaptiveConcurrencyLimit limit, long rttNanos, boolean dropped) {
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            limit.release(rttNanos, dropped);
+        }
+    }
+
+    /**
+     * Una ventana con una sola petición en curso a la vez.
+     */
+    private static void sequentialWindow(AdaptiveConcurrencyLimit limit, long rttNanos, boolean dropped) {
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(rttNanos, dropped);
+        }
+    }
+}
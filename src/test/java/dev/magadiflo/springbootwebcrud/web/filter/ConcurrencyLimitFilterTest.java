@@ -0,0 +1,84 @@
+package dev.magadiflo.springbootwebcrud.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimit readLimit = limit("read");
+    private final AdaptiveConcurrencyLimit writeLimit = limit("write");
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(this.readLimit, this.writeLimit, 2,
+            List.of("/api/v1/authors/export", "/api/v1/import/**"), new ObjectMapper());
+
+    @Test
+    void rejectsWithServiceUnavailableAndRetryAfterOverTheLimit() throws Exception {
+        this.readLimit.tryAcquire();
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = this.perform("GET", "/api/v1/authors/1", chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("Servicio saturado");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(this.readLimit.getRejected()).isEqualTo(1);
+    }
+
+    /**
+     * Lecturas y escrituras tienen límites separados: con las lecturas saturadas una escritura igual pasa.
+     */
+    @Test
+    void readsAndWritesUseSeparateLimits() throws Exception {
+        this.readLimit.tryAcquire();
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = this.perform("POST", "/api/v1/authors", chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(this.writeLimit.getInFlight()).isZero();
+
+        this.writeLimit.tryAcquire();
+        assertThat(this.perform("DELETE", "/api/v1/authors/1", new MockFilterChain()).getStatus())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(this.perform("HEAD", "/api/v1/authors/1", new MockFilterChain()).getStatus())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    @Test
+    void doesNotLimitExcludedPathsNorPathsOutsideTheApi() throws Exception {
+        this.readLimit.tryAcquire();
+        this.writeLimit.tryAcquire();
+
+        for (MockHttpServletRequest request : List.of(new MockHttpServletRequest("GET", "/api/v1/authors/export"),
+                new MockHttpServletRequest("POST", "/api/v1/import/authors"),
+                new MockHttpServletRequest("GET", "/actuator/health"))) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            this.filter.doFilter(request, response, chain);
+
+            assertThat(response.getStatus()).as(request.getRequestURI()).isEqualTo(HttpStatus.OK.value());
+            assertThat(chain.getRequest()).as(request.getRequestURI()).isNotNull();
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+
+    private static AdaptiveConcurrencyLimit limit(String name) {
+        return new AdaptiveConcurrencyLimit(name, 1, 1, 1, 1.5, 0.9, Duration.ofSeconds(1), 10);
+    }
+}